@@ -0,0 +1,106 @@
+package com.resoursehub.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Точка входа: {@code seed} наполняет Postgres, {@code run} гоняет сценарии SPA,
+ * {@code compare} сравнивает два сохранённых отчёта. Опции — в виде {@code --key=value}.
+ */
+public class LoadTestMain {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            usage();
+            return;
+        }
+        Options options = Options.parse(args);
+        switch (args[0]) {
+            case "seed" -> new Seeder(options).run();
+            case "run" -> new LoadTestRunner(options).run();
+            case "compare" -> {
+                if (options.positional().length != 2) {
+                    usage();
+                    System.exit(2);
+                }
+                Report.compare(Report.read(Path.of(options.positional()[0])),
+                        Report.read(Path.of(options.positional()[1])));
+            }
+            default -> {
+                usage();
+                System.exit(2);
+            }
+        }
+    }
+
+    private static void usage() {
+        System.out.println("""
+                usage:
+                  seed    [--jdbc-url=jdbc:postgresql://localhost:5432/resourse_hub] [--db-user=postgres]
+                          [--db-password=11111111] [--users=10000] [--resources=50000] [--likes=500000]
+                          [--comments=100000] [--tags-per-resource=3] [--random-seed=42] [--truncate]
+                          [--manifest=loadtest/seed-manifest.properties]
+                  run     [--base-url=http://localhost:8080] [--vus=100] [--duration=60s] [--warmup=10s]
+                          [--think=0ms] [--mix=feed:20,open:40,like:20,comment:10,profile:10]
+                          [--manifest=loadtest/seed-manifest.properties] [--label=local]
+                          [--out-dir=loadtest/reports] [--random-seed=42]
+                  compare <baseline.json> <candidate.json>
+                """);
+    }
+
+    record Options(Map<String, String> values, String[] positional) {
+
+        static Options parse(String[] args) {
+            Map<String, String> values = new HashMap<>();
+            List<String> positional = new ArrayList<>();
+            for (int i = 1; i < args.length; i++) {
+                String arg = args[i];
+                if (arg.startsWith("--")) {
+                    int eq = arg.indexOf('=');
+                    if (eq < 0) {
+                        values.put(arg.substring(2), "true");
+                    } else {
+                        values.put(arg.substring(2, eq), arg.substring(eq + 1));
+                    }
+                } else {
+                    positional.add(arg);
+                }
+            }
+            return new Options(values, positional.toArray(String[]::new));
+        }
+
+        String get(String key, String defaultValue) {
+            return values.getOrDefault(key, defaultValue);
+        }
+
+        int getInt(String key, int defaultValue) {
+            return values.containsKey(key) ? Integer.parseInt(values.get(key)) : defaultValue;
+        }
+
+        long getLong(String key, long defaultValue) {
+            return values.containsKey(key) ? Long.parseLong(values.get(key)) : defaultValue;
+        }
+
+        boolean has(String key) {
+            return values.containsKey(key);
+        }
+
+        // 500ms, 30s, 5m
+        Duration getDuration(String key, String defaultValue) {
+            String value = get(key, defaultValue).trim();
+            if (value.endsWith("ms")) {
+                return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+            }
+            long amount = Long.parseLong(value.substring(0, value.length() - 1));
+            return switch (value.charAt(value.length() - 1)) {
+                case 's' -> Duration.ofSeconds(amount);
+                case 'm' -> Duration.ofMinutes(amount);
+                default -> throw new IllegalArgumentException("Bad duration for --" + key + ": " + value);
+            };
+        }
+    }
+}
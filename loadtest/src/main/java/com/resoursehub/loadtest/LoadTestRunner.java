@@ -0,0 +1,377 @@
+package com.resoursehub.loadtest;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Закрытая модель нагрузки: N виртуальных пользователей (по виртуальному потоку на каждого)
+ * логинятся своим сидированным аккаунтом и по кругу выполняют сценарии SPA, выбирая их по весам mix.
+ * Следующий запрос уходит только после ответа на предыдущий, поэтому при деградации сервера
+ * хвосты занижены (coordinated omission) — сравнивать отчёты стоит при одинаковых --vus.
+ */
+public class LoadTestRunner {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final DateTimeFormatter FILE_TIME =
+            DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").withZone(ZoneId.systemDefault());
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    // Как во фронтенде: страница ленты и доля пользователей, нажимающих "Показать ещё"
+    private static final int FEED_PAGE_SIZE = 50;
+    private static final double FEED_NEXT_PAGE_SHARE = 0.3;
+    // Зарезервированный домен (RFC 2606) — ссылки созданных ресурсов никуда не ведут
+    static final String URL_HOST = "loadtest.invalid";
+
+    private final String baseUrl;
+    private final int vus;
+    private final Duration duration;
+    private final Duration warmup;
+    private final Duration think;
+    private final String mixSpec;
+    private final Map<Flow, Integer> mix;
+    private final Path manifestPath;
+    private final String label;
+    private final Path outDir;
+    private final long randomSeed;
+
+    public LoadTestRunner(LoadTestMain.Options options) {
+        this.baseUrl = options.get("base-url", "http://localhost:8080").replaceAll("/+$", "");
+        this.vus = options.getInt("vus", 100);
+        this.duration = options.getDuration("duration", "60s");
+        this.warmup = options.getDuration("warmup", "10s");
+        this.think = options.getDuration("think", "0ms");
+        this.mixSpec = options.get("mix", "feed:20,open:40,like:20,comment:10,profile:10");
+        this.mix = parseMix(mixSpec);
+        this.manifestPath = Path.of(options.get("manifest", SeedManifest.DEFAULT_PATH));
+        this.label = options.get("label", "local");
+        this.outDir = Path.of(options.get("out-dir", "loadtest/reports"));
+        this.randomSeed = options.getLong("random-seed", 42);
+    }
+
+    public void run() throws IOException, InterruptedException {
+        SeedManifest manifest = SeedManifest.read(manifestPath);
+        Stats stats = new Stats();
+        Instant startedAt = Instant.now();
+        long measureFrom = System.nanoTime() + warmup.toNanos();
+        long measureUntil = measureFrom + duration.toNanos();
+        Seeder.ZipfSampler popularity = new Seeder.ZipfSampler(Math.toIntExact(manifest.resourceCount()));
+
+        System.out.printf("%d VUs against %s: %s warmup, %s measured%n", vus, baseUrl, warmup, duration);
+        try (ExecutorService httpExecutor = Executors.newVirtualThreadPerTaskExecutor();
+             ExecutorService users = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .executor(httpExecutor)
+                    .build();
+            for (int i = 0; i < vus; i++) {
+                VirtualUser user = new VirtualUser(client, stats, manifest, popularity,
+                        manifest.firstUserId() + i % manifest.userCount(), new Random(randomSeed + i));
+                users.submit(() -> user.loop(measureUntil));
+            }
+
+            sleepUntil(measureFrom);
+            stats.startRecording();
+            sleepUntil(measureUntil);
+            stats.stopRecording();
+            // close() дождётся, пока пользователи доделают текущий сценарий
+        }
+
+        double seconds = duration.toNanos() / 1e9;
+        Report report = new Report(label, startedAt.toString(), baseUrl, vus, mixSpec, seconds,
+                stats.summarize(seconds));
+        report.print();
+        Path file = outDir.resolve(FILE_TIME.format(startedAt) + "-" + label + ".json");
+        report.write(file);
+        System.out.printf("%nreport written to %s%n", file);
+    }
+
+    private static void sleepUntil(long nanoTime) throws InterruptedException {
+        long left = nanoTime - System.nanoTime();
+        if (left > 0) {
+            TimeUnit.NANOSECONDS.sleep(left);
+        }
+    }
+
+    // "feed:20,open:40" -> веса сценариев; неупомянутые сценарии не выполняются
+    private static Map<Flow, Integer> parseMix(String spec) {
+        Map<Flow, Integer> weights = new LinkedHashMap<>();
+        for (String part : spec.split(",")) {
+            String[] kv = part.trim().split(":");
+            if (kv.length != 2) {
+                throw new IllegalArgumentException("Bad --mix entry: " + part);
+            }
+            int weight = Integer.parseInt(kv[1].trim());
+            if (weight > 0) {
+                weights.put(Flow.valueOf(kv[0].trim().toUpperCase()), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("--mix has no flows with positive weight");
+        }
+        return weights;
+    }
+
+    enum Flow {
+        FEED, OPEN, LIKE, COMMENT, PROFILE
+    }
+
+    private final class VirtualUser {
+
+        private final HttpClient client;
+        private final Stats stats;
+        private final SeedManifest manifest;
+        private final Seeder.ZipfSampler popularity;
+        private final long userId;
+        private final Random random;
+        private final List<Flow> flows = new ArrayList<>();
+        private final int[] cumulativeWeights;
+        private String token;
+
+        VirtualUser(HttpClient client, Stats stats, SeedManifest manifest, Seeder.ZipfSampler popularity,
+                    long userId, Random random) {
+            this.client = client;
+            this.stats = stats;
+            this.manifest = manifest;
+            this.popularity = popularity;
+            this.userId = userId;
+            this.random = random;
+            this.cumulativeWeights = new int[mix.size()];
+            int sum = 0;
+            for (Map.Entry<Flow, Integer> entry : mix.entrySet()) {
+                flows.add(entry.getKey());
+                sum += entry.getValue();
+                cumulativeWeights[flows.size() - 1] = sum;
+            }
+        }
+
+        void loop(long until) {
+            try {
+                while (System.nanoTime() < until) {
+                    if (token == null && !login()) {
+                        Thread.sleep(1000);
+                        continue;
+                    }
+                    switch (pickFlow()) {
+                        case FEED -> feed();
+                        case OPEN -> open();
+                        case LIKE -> like();
+                        case COMMENT -> comment();
+                        case PROFILE -> profile();
+                    }
+                    if (!think.isZero()) {
+                        Thread.sleep(think.toMillis());
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private Flow pickFlow() {
+            int roll = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+            for (int i = 0; i < cumulativeWeights.length; i++) {
+                if (roll < cumulativeWeights[i]) {
+                    return flows.get(i);
+                }
+            }
+            return flows.get(flows.size() - 1);
+        }
+
+        private long pickResource() {
+            return manifest.firstResourceId() + popularity.next(random);
+        }
+
+        private boolean login() {
+            HttpResponse<String> response = send("POST /auth/login", post("/auth/login",
+                    Map.of("username", SeedManifest.username(userId), "password", SeedManifest.PASSWORD)), true);
+            if (response == null) {
+                return false;
+            }
+            token = readJson(response.body()).path("token").asText(null);
+            return token != null;
+        }
+
+        // FeedPage: первая страница ленты и отметки "нравится" для неё, иногда — следующая страница
+        private void feed() {
+            Long lastId = feedPage("GET /resources/feed", "/resources/feed?limit=" + FEED_PAGE_SIZE);
+            if (lastId != null && random.nextDouble() < FEED_NEXT_PAGE_SHARE) {
+                feedPage("GET /resources/feed?before", "/resources/feed?limit=" + FEED_PAGE_SIZE + "&before=" + lastId);
+            }
+        }
+
+        // id последней карточки страницы — курсор для следующей; null, если страница пуста или не загрузилась
+        private Long feedPage(String endpoint, String path) {
+            HttpResponse<String> response = send(endpoint, get(path), true);
+            if (response == null) {
+                return null;
+            }
+            List<Long> ids = topLevelIds(response.body());
+            if (ids.isEmpty()) {
+                return null;
+            }
+            send("POST /likes/state", post("/likes/state", ids), false);
+            return ids.get(ids.size() - 1);
+        }
+
+        // ResourcePage: текущий пользователь через /resources и сам ресурс (лайк определяется по его likes)
+        private void open() {
+            long id = pickResource();
+            send("GET /resources", get("/resources"), false);
+            send("GET /resources/{id}", get("/resources/" + id), false);
+        }
+
+        // ResourcePage: лайк/анлайк с фоновой синхронизацией, затем возврат в исходное состояние,
+        // чтобы число лайков в базе не дрейфовало от прогона к прогону
+        private void like() {
+            long id = pickResource();
+            HttpResponse<String> response = send("GET /resources/{id}", get("/resources/" + id), true);
+            if (response == null) {
+                return;
+            }
+            boolean liked = likedByMe(response.body());
+            if (toggle(id, liked)) {
+                send("GET /resources/{id}", get("/resources/" + id), false);
+                toggle(id, !liked);
+            }
+        }
+
+        private boolean toggle(long id, boolean currentlyLiked) {
+            HttpRequest.Builder request = currentlyLiked
+                    ? authorized("/likes/" + id).DELETE()
+                    : authorized("/likes/" + id).POST(HttpRequest.BodyPublishers.noBody());
+            return send(currentlyLiked ? "DELETE /likes/{id}" : "POST /likes/{id}", request, false) != null;
+        }
+
+        // Та же проверка, что на ResourcePage: есть ли в likes запись этого пользователя
+        private boolean likedByMe(String resourceJson) {
+            for (JsonNode like : readJson(resourceJson).path("likes")) {
+                if (like.path("user").path("id").asLong() == userId) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        // ResourcePage: комментарий к открытому ресурсу
+        private void comment() {
+            long id = pickResource();
+            send("GET /resources/{id}", get("/resources/" + id), false);
+            send("POST /comments/{id}", post("/comments/" + id,
+                    Map.of("text", "Load test comment from user " + userId)), false);
+        }
+
+        // ProfilePage: список, создание ресурса и его удаление
+        private void profile() {
+            send("GET /resources", get("/resources"), false);
+            Map<String, Object> resource = Map.of(
+                    "title", "Load test resource",
+                    "description", "Created by the load test",
+                    "url", "https://" + URL_HOST + "/users/" + userId + "/" + random.nextInt(1_000_000),
+                    "type", "ARTICLE",
+                    "tags", List.of("loadtest", "java"));
+            HttpResponse<String> created = send("POST /resources", post("/resources", resource), true);
+            if (created == null) {
+                return;
+            }
+            long newId = readJson(created.body()).path("id").asLong();
+            send("DELETE /resources/{id}", authorized("/resources/" + newId).DELETE(), false);
+        }
+
+        private HttpRequest.Builder get(String path) {
+            return authorized(path).GET();
+        }
+
+        private HttpRequest.Builder post(String path, Object body) {
+            try {
+                return authorized(path)
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofByteArray(JSON.writeValueAsBytes(body)));
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private HttpRequest.Builder authorized(String path) {
+            HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(REQUEST_TIMEOUT);
+            if (token != null) {
+                builder.header("Authorization", "Bearer " + token);
+            }
+            return builder;
+        }
+
+        // null — сетевая ошибка или не-2xx; тело читаем только когда оно нужно сценарию
+        private HttpResponse<String> send(String endpoint, HttpRequest.Builder request, boolean readBody) {
+            long started = System.nanoTime();
+            try {
+                HttpResponse<String> response = readBody
+                        ? client.send(request.build(), HttpResponse.BodyHandlers.ofString())
+                        : client.send(request.build(), HttpResponse.BodyHandlers.replacing(null));
+                boolean ok = response.statusCode() / 100 == 2;
+                stats.record(endpoint, System.nanoTime() - started, ok);
+                if (response.statusCode() == 401) {
+                    token = null;
+                }
+                return ok ? response : null;
+            } catch (IOException e) {
+                stats.record(endpoint, System.nanoTime() - started, false);
+                return null;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+        }
+
+        // id карточек ленты потоковым парсером: вложенные user/tags пропускаются без разбора в дерево
+        private List<Long> topLevelIds(String body) {
+            List<Long> ids = new ArrayList<>();
+            try (JsonParser parser = JSON.getFactory().createParser(body)) {
+                if (parser.nextToken() != JsonToken.START_ARRAY) {
+                    return ids;
+                }
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        String field = parser.currentName();
+                        JsonToken value = parser.nextToken();
+                        if ("id".equals(field) && value.isNumeric()) {
+                            ids.add(parser.getLongValue());
+                        } else {
+                            parser.skipChildren();
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                return ids;
+            }
+            return ids;
+        }
+
+        private JsonNode readJson(String body) {
+            try {
+                return JSON.readTree(body);
+            } catch (IOException e) {
+                return JSON.missingNode();
+            }
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.resoursehub.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Итог прогона: пропускная способность и p50/p99/p999 по каждому эндпоинту.
+ * Сохраняется в JSON, чтобы сравнивать сборки командой {@code compare}.
+ */
+public record Report(
+        String label,
+        String startedAt,
+        String baseUrl,
+        int virtualUsers,
+        String mix,
+        double measuredSeconds,
+        List<EndpointStats> endpoints
+) {
+
+    private static final ObjectMapper JSON = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    public record EndpointStats(
+            String endpoint,
+            long requests,
+            long errors,
+            double throughputPerSecond,
+            double p50Ms,
+            double p99Ms,
+            double p999Ms,
+            double maxMs
+    ) {
+    }
+
+    public void write(Path path) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        JSON.writeValue(path.toFile(), this);
+    }
+
+    public static Report read(Path path) throws IOException {
+        return JSON.readValue(path.toFile(), Report.class);
+    }
+
+    public void print() {
+        System.out.printf("%n%s - %d VUs, %.0f s measured, mix %s%n", label, virtualUsers, measuredSeconds, mix);
+        System.out.printf("%-28s %9s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        for (EndpointStats e : endpoints) {
+            System.out.printf("%-28s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n", e.endpoint(), e.requests(),
+                    e.errors(), e.throughputPerSecond(), e.p50Ms(), e.p99Ms(), e.p999Ms(), e.maxMs());
+        }
+    }
+
+    /** Печатает изменения candidate относительно baseline; для латентности рост — плохо. */
+    public static void compare(Report baseline, Report candidate) {
+        Map<String, EndpointStats> before = baseline.endpoints().stream()
+                .collect(Collectors.toMap(EndpointStats::endpoint, Function.identity()));
+        System.out.printf("baseline:  %s (%s)%ncandidate: %s (%s)%n%n",
+                baseline.label(), baseline.startedAt(), candidate.label(), candidate.startedAt());
+        System.out.printf("%-28s %16s %16s %16s %16s %8s%n",
+                "endpoint", "req/s", "p50 ms", "p99 ms", "p999 ms", "errors");
+        for (EndpointStats after : candidate.endpoints()) {
+            EndpointStats was = before.get(after.endpoint());
+            if (was == null) {
+                System.out.printf("%-28s %16s%n", after.endpoint(), "(new)");
+                continue;
+            }
+            System.out.printf("%-28s %16s %16s %16s %16s %8s%n", after.endpoint(),
+                    delta(was.throughputPerSecond(), after.throughputPerSecond()),
+                    delta(was.p50Ms(), after.p50Ms()),
+                    delta(was.p99Ms(), after.p99Ms()),
+                    delta(was.p999Ms(), after.p999Ms()),
+                    was.errors() + " -> " + after.errors());
+        }
+    }
+
+    private static String delta(double before, double after) {
+        if (before == 0) {
+            return String.format("%.2f", after);
+        }
+        return String.format("%.2f (%+.0f%%)", after, (after - before) * 100 / before);
+    }
+}
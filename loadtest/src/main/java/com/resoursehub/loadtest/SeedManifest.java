@@ -0,0 +1,56 @@
+package com.resoursehub.loadtest;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+
+/**
+ * Что засеяно: диапазоны id пользователей и ресурсов. Сидер пишет файл, прогон читает —
+ * так сценарии ходят только по существующим данным.
+ */
+public record SeedManifest(long firstUserId, long lastUserId, long firstResourceId, long lastResourceId) {
+
+    public static final String DEFAULT_PATH = "loadtest/seed-manifest.properties";
+    public static final String PASSWORD = "loadtest";
+
+    public static String username(long userId) {
+        return "lt_user_" + userId;
+    }
+
+    public void write(Path path) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty("users.first", Long.toString(firstUserId));
+        properties.setProperty("users.last", Long.toString(lastUserId));
+        properties.setProperty("resources.first", Long.toString(firstResourceId));
+        properties.setProperty("resources.last", Long.toString(lastResourceId));
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        try (Writer writer = Files.newBufferedWriter(path)) {
+            properties.store(writer, "resourseHub load-test seed");
+        }
+    }
+
+    public static SeedManifest read(Path path) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(path)) {
+            properties.load(reader);
+        }
+        return new SeedManifest(
+                Long.parseLong(properties.getProperty("users.first")),
+                Long.parseLong(properties.getProperty("users.last")),
+                Long.parseLong(properties.getProperty("resources.first")),
+                Long.parseLong(properties.getProperty("resources.last")));
+    }
+
+    public long userCount() {
+        return lastUserId - firstUserId + 1;
+    }
+
+    public long resourceCount() {
+        return lastResourceId - firstResourceId + 1;
+    }
+}
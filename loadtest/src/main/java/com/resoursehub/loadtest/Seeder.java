@@ -0,0 +1,271 @@
+package com.resoursehub.loadtest;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Наполняет базу синтетическими пользователями, ресурсами, тегами, лайками и комментариями
+ * через COPY FROM STDIN. Схему создаёт само приложение (Hibernate), сидер только пишет строки.
+ * Id назначаются явно, начиная после текущего максимума, затем identity-последовательности
+ * сдвигаются. Популярность ресурсов для лайков и комментариев — Zipf (s = 1).
+ */
+public class Seeder {
+
+    private static final String[] TYPES = {"ARTICLE", "VIDEO", "TOOL", "COURSE", "OTHER"};
+    private static final String[] TAGS = {
+            "java", "spring", "spring boot", "kotlin", "react", "typescript", "javascript", "css",
+            "postgres", "sql", "docker", "kubernetes", "linux", "git", "testing", "performance",
+            "security", "algorithms", "design", "architecture", "devops", "cloud", "aws", "python",
+            "machine learning", "data", "go", "rust", "frontend", "backend", "career", "interview"
+    };
+    private static final int FLUSH_BYTES = 1 << 20;
+
+    private final String jdbcUrl;
+    private final String dbUser;
+    private final String dbPassword;
+    private final int users;
+    private final int resources;
+    private final long likes;
+    private final long comments;
+    private final int tagsPerResource;
+    private final boolean truncate;
+    private final Path manifestPath;
+    private final Random random;
+
+    public Seeder(LoadTestMain.Options options) {
+        this.jdbcUrl = options.get("jdbc-url", "jdbc:postgresql://localhost:5432/resourse_hub");
+        this.dbUser = options.get("db-user", "postgres");
+        this.dbPassword = options.get("db-password", "11111111");
+        this.users = options.getInt("users", 10_000);
+        this.resources = options.getInt("resources", 50_000);
+        this.likes = options.getLong("likes", 500_000);
+        this.comments = options.getLong("comments", 100_000);
+        this.tagsPerResource = options.getInt("tags-per-resource", 3);
+        this.truncate = options.has("truncate");
+        this.manifestPath = Path.of(options.get("manifest", SeedManifest.DEFAULT_PATH));
+        this.random = new Random(options.getLong("random-seed", 42));
+    }
+
+    public void run() throws SQLException, IOException {
+        // Уникальные id по Zipf добираются всё дольше по мере исчерпания хвоста — ограничиваем долю
+        long maxLikesPerUser = (likes + users - 1) / users;
+        if (maxLikesPerUser > resources / 2) {
+            throw new IllegalArgumentException(String.format(
+                    "--likes=%d over --users=%d gives up to %d likes per user, but at most --resources/2 = %d "
+                            + "are allowed; lower --likes or raise --resources", likes, users, maxLikesPerUser,
+                    resources / 2));
+        }
+        try (Connection connection = DriverManager.getConnection(jdbcUrl, dbUser, dbPassword)) {
+            connection.setAutoCommit(false);
+            if (truncate) {
+                execute(connection, "TRUNCATE likes, comments, resource_tags, resources, auth_tokens, users "
+                        + "RESTART IDENTITY CASCADE");
+            }
+            CopyManager copy = connection.unwrap(PGConnection.class).getCopyAPI();
+
+            long userBase = maxId(connection, "users");
+            long resourceBase = maxId(connection, "resources");
+            long likeBase = maxId(connection, "likes");
+            long commentBase = maxId(connection, "comments");
+            Instant now = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+            ZipfSampler popularity = new ZipfSampler(resources);
+
+            long started = System.nanoTime();
+            try (RowWriter out = new RowWriter(copy,
+                    "COPY users (id, username, password, display_name, email) FROM STDIN")) {
+                for (long i = 1; i <= users; i++) {
+                    long id = userBase + i;
+                    out.row(id, SeedManifest.username(id), SeedManifest.PASSWORD, "Load test user " + id,
+                            SeedManifest.username(id) + "@loadtest.local");
+                }
+            }
+            log("users", users, started);
+
+            started = System.nanoTime();
+            try (RowWriter out = new RowWriter(copy,
+                    "COPY resources (id, title, description, url, type, created_at, user_id) FROM STDIN")) {
+                for (long i = 1; i <= resources; i++) {
+                    long id = resourceBase + i;
+                    out.row(id, "Resource " + id, "Synthetic resource number " + id + " for load testing",
+                            "https://" + LoadTestRunner.URL_HOST + "/resources/" + id,
+                            TYPES[random.nextInt(TYPES.length)], now.minusSeconds(resources - i),
+                            userBase + 1 + random.nextInt(users));
+                }
+            }
+            log("resources", resources, started);
+
+            started = System.nanoTime();
+            try (RowWriter out = new RowWriter(copy, "COPY resource_tags (resource_id, tag) FROM STDIN")) {
+                Set<String> chosen = new HashSet<>();
+                for (long i = 1; i <= resources; i++) {
+                    chosen.clear();
+                    while (chosen.size() < Math.min(tagsPerResource, TAGS.length)) {
+                        chosen.add(TAGS[random.nextInt(TAGS.length)]);
+                    }
+                    for (String tag : chosen) {
+                        out.row(resourceBase + i, tag);
+                    }
+                }
+            }
+            log("resource_tags", (long) resources * Math.min(tagsPerResource, TAGS.length), started);
+
+            started = System.nanoTime();
+            long likeRows = 0;
+            try (RowWriter out = new RowWriter(copy,
+                    "COPY likes (id, created_at, user_id, resource_id) FROM STDIN")) {
+                // (user_id, resource_id) уникальны: каждому пользователю — свой набор без повторов
+                Set<Long> liked = new HashSet<>();
+                for (long u = 1; u <= users; u++) {
+                    long quota = likes / users + (u <= likes % users ? 1 : 0);
+                    liked.clear();
+                    while (liked.size() < quota) {
+                        long resourceId = resourceBase + 1 + popularity.next(random);
+                        if (liked.add(resourceId)) {
+                            out.row(likeBase + ++likeRows, now, userBase + u, resourceId);
+                        }
+                    }
+                }
+            }
+            log("likes", likeRows, started);
+
+            started = System.nanoTime();
+            try (RowWriter out = new RowWriter(copy,
+                    "COPY comments (id, text, created_at, author_id, resource_id) FROM STDIN")) {
+                for (long i = 1; i <= comments; i++) {
+                    out.row(commentBase + i, "Load test comment " + i, now,
+                            userBase + 1 + random.nextInt(users), resourceBase + 1 + popularity.next(random));
+                }
+            }
+            log("comments", comments, started);
+
+            for (String table : new String[]{"users", "resources", "likes", "comments"}) {
+                execute(connection, "SELECT setval(pg_get_serial_sequence('" + table + "', 'id'), "
+                        + "(SELECT COALESCE(MAX(id), 1) FROM " + table + "))");
+            }
+            connection.commit();
+
+            connection.setAutoCommit(true);
+            execute(connection, "ANALYZE users, resources, resource_tags, likes, comments");
+
+            SeedManifest manifest = new SeedManifest(userBase + 1, userBase + users,
+                    resourceBase + 1, resourceBase + resources);
+            manifest.write(manifestPath);
+            System.out.printf("manifest written to %s%n", manifestPath);
+        }
+    }
+
+    private static long maxId(Connection connection, String table) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT COALESCE(MAX(id), 0) FROM " + table)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private static void execute(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private static void log(String table, long rows, long startedNanos) {
+        long ms = Math.max(1, (System.nanoTime() - startedNanos) / 1_000_000);
+        System.out.printf("%-14s %,12d rows in %,7d ms (%,d rows/s)%n", table, rows, ms, rows * 1000 / ms);
+    }
+
+    // Копит строки в текстовом формате COPY и отправляет пачками по ~1 МБ
+    private static final class RowWriter implements AutoCloseable {
+
+        private final CopyIn copyIn;
+        private final StringBuilder buffer = new StringBuilder(FLUSH_BYTES + 4096);
+
+        RowWriter(CopyManager copy, String sql) throws SQLException {
+            this.copyIn = copy.copyIn(sql);
+        }
+
+        void row(Object... values) throws SQLException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    buffer.append('\t');
+                }
+                appendEscaped(values[i]);
+            }
+            buffer.append('\n');
+            if (buffer.length() >= FLUSH_BYTES) {
+                flush();
+            }
+        }
+
+        private void appendEscaped(Object value) {
+            if (value == null) {
+                buffer.append("\\N");
+                return;
+            }
+            String text = value.toString();
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                switch (c) {
+                    case '\\' -> buffer.append("\\\\");
+                    case '\t' -> buffer.append("\\t");
+                    case '\n' -> buffer.append("\\n");
+                    case '\r' -> buffer.append("\\r");
+                    default -> buffer.append(c);
+                }
+            }
+        }
+
+        private void flush() throws SQLException {
+            if (buffer.isEmpty()) {
+                return;
+            }
+            byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+            copyIn.writeToCopy(bytes, 0, bytes.length);
+            buffer.setLength(0);
+        }
+
+        @Override
+        public void close() throws SQLException {
+            flush();
+            copyIn.endCopy();
+        }
+    }
+
+    // Выборка индекса 0..n-1 с вероятностью ~ 1/(i+1); потокобезопасна, Random передаёт вызывающий
+    static final class ZipfSampler {
+
+        private final double[] cdf;
+
+        ZipfSampler(int n) {
+            this.cdf = new double[n];
+            double sum = 0;
+            for (int i = 0; i < n; i++) {
+                sum += 1.0 / (i + 1);
+                cdf[i] = sum;
+            }
+            for (int i = 0; i < n; i++) {
+                cdf[i] /= sum;
+            }
+        }
+
+        int next(Random random) {
+            int i = Arrays.binarySearch(cdf, random.nextDouble());
+            return i >= 0 ? i : Math.min(-i - 1, cdf.length - 1);
+        }
+    }
+}
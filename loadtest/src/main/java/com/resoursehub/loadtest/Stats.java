@@ -0,0 +1,67 @@
+package com.resoursehub.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Латентность и ошибки по эндпоинтам. Пишется только внутри окна замера
+ * (после прогрева и до конца прогона); время — в микросекундах, HdrHistogram с 3 значащими цифрами.
+ */
+final class Stats {
+
+    private static final long MAX_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+    private volatile boolean recording;
+
+    void startRecording() {
+        recording = true;
+    }
+
+    void stopRecording() {
+        recording = false;
+    }
+
+    void record(String endpoint, long elapsedNanos, boolean ok) {
+        if (!recording) {
+            return;
+        }
+        Endpoint stats = endpoints.computeIfAbsent(endpoint, name -> new Endpoint());
+        long micros = Math.min(TimeUnit.NANOSECONDS.toMicros(elapsedNanos), MAX_TRACKABLE_MICROS);
+        stats.latency.recordValue(Math.max(1, micros));
+        if (!ok) {
+            stats.errors.increment();
+        }
+    }
+
+    List<Report.EndpointStats> summarize(double seconds) {
+        List<Report.EndpointStats> result = new ArrayList<>();
+        endpoints.forEach((name, stats) -> {
+            Histogram h = stats.latency.copy();
+            result.add(new Report.EndpointStats(
+                    name,
+                    h.getTotalCount(),
+                    stats.errors.sum(),
+                    h.getTotalCount() / seconds,
+                    h.getValueAtPercentile(50) / 1000.0,
+                    h.getValueAtPercentile(99) / 1000.0,
+                    h.getValueAtPercentile(99.9) / 1000.0,
+                    h.getMaxValue() / 1000.0));
+        });
+        result.sort(Comparator.comparing(Report.EndpointStats::endpoint));
+        return result;
+    }
+
+    private static final class Endpoint {
+        final ConcurrentHistogram latency = new ConcurrentHistogram(MAX_TRACKABLE_MICROS, 3);
+        final LongAdder errors = new LongAdder();
+    }
+}
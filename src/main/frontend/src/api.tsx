@@ -18,3 +18,17 @@ export async function apiFetch(path: string, options: RequestInit = {}) {
 
     return response;
 }
+
+// Какие из ресурсов лайкнул текущий пользователь. Сервер принимает до 500 id (LikeService.MAX_STATE_IDS),
+// страница ленты — не больше 100 карточек, поэтому хватает одного запроса
+export async function fetchLikedIds(resourceIds: number[]): Promise<Set<number>> {
+    if (resourceIds.length === 0 || !localStorage.getItem("token")) {
+        return new Set();
+    }
+    const response = await apiFetch("/likes/state", {
+        method: "POST",
+        body: JSON.stringify(resourceIds),
+    });
+    const liked: number[] = await response.json();
+    return new Set(liked);
+}
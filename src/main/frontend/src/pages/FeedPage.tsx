@@ -1,31 +1,51 @@
 import React, { useEffect, useState } from "react";
-import { Box, Typography, Card, CardContent } from "@mui/material";
+import { Box, Typography, Card, CardContent, Button } from "@mui/material";
 import { Link } from "react-router-dom";
-import { apiFetch } from "../api";
+import { apiFetch, fetchLikedIds } from "../api";
 
 interface Resource {
     id: number;
     title: string;
     description: string;
     user?: { username: string };
+    likeCount: number;
 }
 
 const containerLeftOffset = "320px";
 const maxCardWidth = 800;
+const PAGE_SIZE = 50;
 
 const FeedPage: React.FC = () => {
     const [resources, setResources] = useState<Resource[]>([]);
+    const [hasMore, setHasMore] = useState(false);
+    const [loading, setLoading] = useState(false);
+    const [likedIds, setLikedIds] = useState<Set<number>>(new Set());
 
-    useEffect(() => {
-        (async () => {
+    // Лента приходит страницами, новые сначала; следующая — после id последней карточки
+    const loadPage = async (before?: number) => {
+        setLoading(true);
+        try {
+            const res = await apiFetch(`/resources/feed?limit=${PAGE_SIZE}${before ? `&before=${before}` : ""}`);
+            const data: Resource[] = await res.json();
+            setResources((prev) => (before ? [...prev, ...data] : data));
+            setHasMore(data.length === PAGE_SIZE);
+
+            // Лента приходит без лайков: свои отметки "нравится" берём отдельно, одним запросом на страницу
             try {
-                const res = await apiFetch("/resources/feed");
-                const data = await res.json();
-                setResources(data);
+                const liked = await fetchLikedIds(data.map((r) => r.id));
+                setLikedIds((prev) => (before ? new Set([...prev, ...liked]) : liked));
             } catch (err) {
-                console.error("Ошибка загрузки ленты:", err);
+                console.error("Ошибка загрузки лайков:", err);
             }
-        })();
+        } catch (err) {
+            console.error("Ошибка загрузки ленты:", err);
+        } finally {
+            setLoading(false);
+        }
+    };
+
+    useEffect(() => {
+        loadPage();
     }, []);
 
     return (
@@ -106,7 +126,8 @@ const FeedPage: React.FC = () => {
                                         </Typography>
 
                                         <Typography variant="caption" color="text.secondary">
-                                            👤 {r.user?.username ?? "Неизвестный автор"}
+                                            👤 {r.user?.username ?? "Неизвестный автор"} · ❤️ {r.likeCount}
+                                            {likedIds.has(r.id) && " · Вам нравится"}
                                         </Typography>
                                     </Box>
                                 </CardContent>
@@ -114,6 +135,18 @@ const FeedPage: React.FC = () => {
                         </Box>
                     ))
                 )}
+
+                {hasMore && (
+                    <Box sx={{ ml: "490px", maxWidth: maxCardWidth, display: "flex", justifyContent: "center" }}>
+                        <Button
+                            variant="outlined"
+                            disabled={loading}
+                            onClick={() => loadPage(resources[resources.length - 1].id)}
+                        >
+                            Показать ещё
+                        </Button>
+                    </Box>
+                )}
             </Box>
         </Box>
     );
@@ -5,7 +5,11 @@ import com.resoursehub.resourseHub.model.User;
 import com.resoursehub.resourseHub.service.LikeService;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
 
 @CrossOrigin(origins = "http://localhost:5173")
 @RestController
@@ -26,4 +30,14 @@ public class LikeController {
         User currentUser = (User) request.getAttribute("currentUser");
         likeService.unlikeResource(resourceId, currentUser);
     }
-}
\ No newline at end of file
+
+    // Какие из переданных ресурсов лайкнул текущий пользователь — один запрос на страницу ленты
+    @PostMapping("/state")
+    public List<Long> likeState(@RequestBody List<Long> resourceIds, HttpServletRequest request) {
+        User currentUser = (User) request.getAttribute("currentUser");
+        if (currentUser == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "You must be logged in to see like state");
+        }
+        return likeService.getLikedResourceIds(resourceIds, currentUser);
+    }
+}
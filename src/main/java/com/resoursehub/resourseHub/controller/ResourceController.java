@@ -1,8 +1,10 @@
 package com.resoursehub.resourseHub.controller;
 
+import com.resoursehub.resourseHub.dto.ResourceCard;
 import com.resoursehub.resourseHub.model.Resource;
 import com.resoursehub.resourseHub.model.User;
 import com.resoursehub.resourseHub.service.ResourceService;
+import com.resoursehub.resourseHub.service.TagIndexService;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -42,6 +44,12 @@ public class ResourceController {
         return resourceService.getResourceById(id);
     }
 
+    @GetMapping("/{id}/related")
+    public List<ResourceCard> getRelatedResources(@PathVariable Long id,
+                                                  @RequestParam(defaultValue = "10") int limit) {
+        return resourceService.getRelatedResources(id, limit);
+    }
+
 
 
     @DeleteMapping("/{id}")
@@ -55,8 +63,11 @@ public class ResourceController {
     }
 
     @GetMapping("/feed")
-    public List<Resource> getAllResources() {
-        return resourceService.getAllResources();
+    public List<ResourceCard> getAllResources(@RequestParam(required = false) List<String> tags,
+                                              @RequestParam(defaultValue = "all") String match,
+                                              @RequestParam(required = false) Long before,
+                                              @RequestParam(defaultValue = "50") int limit) {
+        return resourceService.getFeed(tags, TagIndexService.isMatchAll(match), before, limit);
     }
 
 
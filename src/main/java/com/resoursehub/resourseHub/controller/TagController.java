@@ -0,0 +1,30 @@
+package com.resoursehub.resourseHub.controller;
+
+import com.resoursehub.resourseHub.index.TagCount;
+import com.resoursehub.resourseHub.service.TagIndexService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@CrossOrigin(origins = "http://localhost:5173")
+@RestController
+@RequestMapping("/tags")
+@RequiredArgsConstructor
+public class TagController {
+
+    private final TagIndexService tagIndexService;
+
+    @GetMapping("/suggest")
+    public List<TagCount> suggest(@RequestParam(defaultValue = "") String prefix,
+                                  @RequestParam(defaultValue = "10") int limit) {
+        return tagIndexService.suggest(prefix, limit);
+    }
+
+    @GetMapping("/facets")
+    public List<TagCount> facets(@RequestParam(required = false) List<String> tags,
+                                 @RequestParam(defaultValue = "all") String match,
+                                 @RequestParam(defaultValue = "20") int limit) {
+        return tagIndexService.facets(tags, TagIndexService.isMatchAll(match), limit);
+    }
+}
@@ -0,0 +1,43 @@
+package com.resoursehub.resourseHub.dto;
+
+import com.resoursehub.resourseHub.enums.ResourceType;
+import com.resoursehub.resourseHub.model.Resource;
+
+import java.time.Instant;
+import java.util.List;
+
+// Ресурс в списках (похожие, лента): без лайков и комментариев, автор — только id и имя
+public record ResourceCard(
+        Long id,
+        String title,
+        String description,
+        String url,
+        ResourceType type,
+        List<String> tags,
+        Instant createdAt,
+        String pageTitle,
+        String pageDescription,
+        String imageUrl,
+        Author user,
+        long likeCount
+) {
+
+    public record Author(Long id, String username) {
+    }
+
+    public static ResourceCard of(Resource resource, long likeCount) {
+        return new ResourceCard(
+                resource.getId(),
+                resource.getTitle(),
+                resource.getDescription(),
+                resource.getUrl(),
+                resource.getType(),
+                resource.getTags() == null ? List.of() : List.copyOf(resource.getTags()),
+                resource.getCreatedAt(),
+                resource.getPageTitle(),
+                resource.getPageDescription(),
+                resource.getImageUrl(),
+                new Author(resource.getUser().getId(), resource.getUser().getUsername()),
+                likeCount);
+    }
+}
@@ -0,0 +1,31 @@
+package com.resoursehub.resourseHub.enrichment;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+// Настройки фонового обогащения ссылок (resourcehub.enrichment.*)
+@ConfigurationProperties(prefix = "resourcehub.enrichment")
+public record EnrichmentProperties(
+        @DefaultValue("true") boolean enabled,
+        // Одновременных запросов всего и к одному хосту
+        @DefaultValue("16") int maxConcurrent,
+        @DefaultValue("2") int maxPerHost,
+        @DefaultValue("3s") Duration connectTimeout,
+        @DefaultValue("5s") Duration requestTimeout,
+        // Попытки с экспоненциальной задержкой: initialBackoff, x2, x4 ...
+        @DefaultValue("3") int maxAttempts,
+        @DefaultValue("500ms") Duration initialBackoff,
+        // Больше этого тело ответа не читаем
+        @DefaultValue("262144") int maxResponseBytes,
+        @DefaultValue("10000") int queueCapacity,
+        // Запись результатов в БД пачками
+        @DefaultValue("50") int batchSize,
+        // Редиректы проходим сами, с той же проверкой адреса на каждом шаге
+        @DefaultValue("5") int maxRedirects,
+        // Хосты, которым можно резолвиться во внутренние адреса (по умолчанию таких нет)
+        @DefaultValue List<String> allowedPrivateHosts
+) {
+}
@@ -0,0 +1,5 @@
+package com.resoursehub.resourseHub.enrichment;
+
+// Что удалось достать со страницы ресурса; любое поле может быть null
+public record LinkMetadata(Long resourceId, String title, String description, String imageUrl) {
+}
@@ -0,0 +1,500 @@
+package com.resoursehub.resourseHub.enrichment;
+
+import org.apache.hc.client5.http.async.methods.SimpleRequestBuilder;
+import org.apache.hc.client5.http.async.methods.SimpleRequestProducer;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManagerBuilder;
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.apache.hc.core5.http.EntityDetails;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpResponse;
+import org.apache.hc.core5.http.nio.AsyncResponseConsumer;
+import org.apache.hc.core5.http.nio.CapacityChannel;
+import org.apache.hc.core5.http.protocol.HttpContext;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.util.Timeout;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Неблокирующая загрузка страниц ресурсов через асинхронный Apache HttpClient.
+ * Задачи ждут в ограниченной очереди и запускаются, пока есть свободные слоты —
+ * общий лимит и лимит на хост. Повторные попытки не держат слот во время паузы.
+ * Готовые {@link LinkMetadata} отдаются в {@code sink}.
+ * <p>
+ * Ссылки присылают пользователи, поэтому хост резолвит {@link PublicAddressResolver}: внутренние
+ * адреса — loopback, link-local, частные сети и т.п. — отбрасываются, а соединение открывается
+ * к тем же проверенным адресам. Редиректы клиент сам не проходит, их обрабатываем вручную
+ * с лимитом шагов, и каждый шаг снова резолвится через тот же резолвер.
+ */
+public class LinkMetadataFetcher {
+
+    private static final String USER_AGENT = "ResourceHub-LinkPreview/1.0";
+
+    private final CloseableHttpAsyncClient client;
+    private final EnrichmentProperties properties;
+    private final Consumer<LinkMetadata> sink;
+    // DNS-резолв блокирующий: запросы запускаем и ответы разбираем здесь, а не в потоках
+    // вызывающих и не в I/O-потоках клиента
+    private final ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "link-enrichment");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Всё состояние планировщика под монитором this
+    private final ArrayDeque<Job> pending = new ArrayDeque<>();
+    private final Map<String, Integer> inFlightPerHost = new HashMap<>();
+    private int inFlight;
+    private boolean closed;
+
+    private final AtomicInteger awaitingRetry = new AtomicInteger();
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder succeeded = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+    private final LongAdder blocked = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder retried = new LongAdder();
+
+    public LinkMetadataFetcher(EnrichmentProperties properties, Consumer<LinkMetadata> sink) {
+        this.properties = properties;
+        this.sink = sink;
+        PublicAddressResolver resolver = new PublicAddressResolver(properties.allowedPrivateHosts().stream()
+                .map(host -> host.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toUnmodifiableSet()));
+        // Лимиты пула с запасом: реальные ограничения держит планировщик ниже
+        this.client = HttpAsyncClients.custom()
+                .setConnectionManager(PoolingAsyncClientConnectionManagerBuilder.create()
+                        .setDnsResolver(resolver)
+                        .setMaxConnTotal(properties.maxConcurrent() * 2)
+                        .setMaxConnPerRoute(properties.maxPerHost() * 2)
+                        .setDefaultConnectionConfig(ConnectionConfig.custom()
+                                .setConnectTimeout(Timeout.of(properties.connectTimeout()))
+                                .build())
+                        .build())
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setResponseTimeout(Timeout.of(properties.requestTimeout()))
+                        .build())
+                .setUserAgent(USER_AGENT)
+                .disableRedirectHandling()
+                .disableAutomaticRetries()
+                .disableCookieManagement()
+                .disableAuthCaching()
+                .build();
+        client.start();
+    }
+
+    /**
+     * Ставит ссылку в очередь и сразу возвращается.
+     * false — ссылка не http(s) или очередь переполнена.
+     */
+    public boolean submit(Long resourceId, String url) {
+        URI uri = toHttpUri(url);
+        if (uri == null) {
+            rejected.increment();
+            return false;
+        }
+        synchronized (this) {
+            if (closed || pending.size() >= properties.queueCapacity()) {
+                rejected.increment();
+                return false;
+            }
+            pending.addLast(Job.first(resourceId, uri));
+        }
+        submitted.increment();
+        dispatch();
+        return true;
+    }
+
+    public void close() {
+        synchronized (this) {
+            closed = true;
+            pending.clear();
+        }
+        client.close(CloseMode.IMMEDIATE);
+        executor.shutdownNow();
+    }
+
+    // --- Метрики ---
+
+    public synchronized int queueDepth() {
+        return pending.size();
+    }
+
+    public synchronized int inFlight() {
+        return inFlight;
+    }
+
+    public int awaitingRetry() {
+        return awaitingRetry.get();
+    }
+
+    public long submitted() {
+        return submitted.sum();
+    }
+
+    public long rejected() {
+        return rejected.sum();
+    }
+
+    public long succeeded() {
+        return succeeded.sum();
+    }
+
+    public long skipped() {
+        return skipped.sum();
+    }
+
+    public long blocked() {
+        return blocked.sum();
+    }
+
+    public long failed() {
+        return failed.sum();
+    }
+
+    public long retried() {
+        return retried.sum();
+    }
+
+    // --- Планировщик ---
+
+    private void dispatch() {
+        List<Job> ready = new ArrayList<>();
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            Iterator<Job> it = pending.iterator();
+            while (inFlight < properties.maxConcurrent() && it.hasNext()) {
+                Job job = it.next();
+                int perHost = inFlightPerHost.getOrDefault(job.host(), 0);
+                if (perHost >= properties.maxPerHost()) {
+                    continue;
+                }
+                it.remove();
+                inFlight++;
+                inFlightPerHost.put(job.host(), perHost + 1);
+                ready.add(job);
+            }
+        }
+        ready.forEach(job -> executor.execute(() -> start(job)));
+    }
+
+    private void start(Job job) {
+        CompletableFuture<Page> result = new CompletableFuture<>();
+        try {
+            // Резолв хоста (и проверка адреса) происходит внутри execute, при открытии соединения
+            Future<Page> call = client.execute(
+                    SimpleRequestProducer.create(SimpleRequestBuilder.get(job.uri())
+                            .addHeader("Accept", "text/html,application/xhtml+xml")
+                            .build()),
+                    new CappedResponseConsumer(properties.maxResponseBytes()),
+                    new FutureCallback<>() {
+                        @Override
+                        public void completed(Page page) {
+                            result.complete(page);
+                        }
+
+                        @Override
+                        public void failed(Exception e) {
+                            result.completeExceptionally(e);
+                        }
+
+                        @Override
+                        public void cancelled() {
+                            result.cancel(false);
+                        }
+                    });
+            // requestTimeout — на весь запрос, а не только на паузы между пакетами
+            result.orTimeout(properties.requestTimeout().toMillis(), TimeUnit.MILLISECONDS)
+                    .whenComplete((page, error) -> {
+                        if (error != null) {
+                            call.cancel(true);
+                        }
+                    });
+        } catch (RuntimeException e) {
+            result.completeExceptionally(e);
+        }
+        result.whenCompleteAsync((page, error) -> {
+            release(job);
+            try {
+                handle(job, page, error);
+            } finally {
+                dispatch();
+            }
+        }, executor);
+    }
+
+    private synchronized void release(Job job) {
+        inFlight--;
+        inFlightPerHost.computeIfPresent(job.host(), (host, count) -> count > 1 ? count - 1 : null);
+    }
+
+    private void handle(Job job, Page page, Throwable error) {
+        if (error != null) {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null
+                    ? error.getCause() : error;
+            if (isBlocked(cause)) {
+                blocked.increment();
+            } else if (cause instanceof IOException || cause instanceof TimeoutException) {
+                retry(job);
+            } else if (!(cause instanceof CancellationException)) {
+                failed.increment();
+            }
+            return;
+        }
+
+        int status = page.status();
+        if (isRedirect(status)) {
+            redirect(job, page);
+            return;
+        }
+        if (status == 429 || status >= 500) {
+            retry(job);
+            return;
+        }
+        if (status / 100 != 2) {
+            failed.increment();
+            return;
+        }
+        if (!isHtml(page.contentType())) {
+            skipped.increment();
+            return;
+        }
+
+        String html = new String(page.body(), charsetOf(page.contentType()));
+        try {
+            sink.accept(LinkMetadataParser.parse(job.resourceId(), job.uri(), html));
+            succeeded.increment();
+        } catch (RuntimeException e) {
+            failed.increment();
+        }
+    }
+
+    // Клиент может завернуть ошибку резолвера в свою
+    private static boolean isBlocked(Throwable error) {
+        for (Throwable t = error; t != null; t = t.getCause()) {
+            if (t instanceof PublicAddressResolver.BlockedAddressException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void retry(Job job) {
+        if (job.attempt() >= properties.maxAttempts()) {
+            failed.increment();
+            return;
+        }
+        retried.increment();
+        awaitingRetry.incrementAndGet();
+
+        long base = properties.initialBackoff().toMillis() << (job.attempt() - 1);
+        long delay = base + ThreadLocalRandom.current().nextLong(base / 4 + 1);
+        CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS).execute(() -> {
+            awaitingRetry.decrementAndGet();
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                pending.addLast(job.nextAttempt());
+            }
+            dispatch();
+        });
+    }
+
+    private void redirect(Job job, Page page) {
+        URI target = page.location() == null ? null : resolveLocation(job.uri(), page.location());
+        if (target == null || job.redirects() >= properties.maxRedirects()) {
+            failed.increment();
+            return;
+        }
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            // Новый адрес пройдёт ту же проверку в резолвере
+            pending.addFirst(job.redirectTo(target));
+        }
+    }
+
+    private static URI resolveLocation(URI base, String location) {
+        try {
+            return toHttpUri(base.resolve(location.trim()).toString());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static boolean isRedirect(int status) {
+        return status == 301 || status == 302 || status == 303 || status == 307 || status == 308;
+    }
+
+    private static URI toHttpUri(String url) {
+        if (url == null) {
+            return null;
+        }
+        try {
+            URI uri = URI.create(url.trim());
+            String scheme = uri.getScheme();
+            if (scheme == null || uri.getHost() == null
+                    || !(scheme.equalsIgnoreCase("http") || scheme.equalsIgnoreCase("https"))) {
+                return null;
+            }
+            return uri;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static boolean isHtml(String contentType) {
+        String type = contentType == null ? "" : contentType.toLowerCase(Locale.ROOT);
+        return type.isEmpty() || type.startsWith("text/html") || type.startsWith("application/xhtml");
+    }
+
+    private static Charset charsetOf(String contentType) {
+        if (contentType == null) {
+            return StandardCharsets.UTF_8;
+        }
+        for (String param : contentType.split(";")) {
+            String p = param.trim();
+            if (p.regionMatches(true, 0, "charset=", 0, 8)) {
+                try {
+                    return Charset.forName(p.substring(8).replace("\"", "").trim());
+                } catch (IllegalArgumentException e) {
+                    break;
+                }
+            }
+        }
+        return StandardCharsets.UTF_8;
+    }
+
+    private record Job(Long resourceId, URI uri, String host, int attempt, int redirects) {
+
+        static Job first(Long resourceId, URI uri) {
+            return new Job(resourceId, uri, uri.getHost().toLowerCase(Locale.ROOT), 1, 0);
+        }
+
+        Job nextAttempt() {
+            return new Job(resourceId, uri, host, attempt + 1, redirects);
+        }
+
+        // Новый шаг — свой хост и свой счётчик попыток
+        Job redirectTo(URI target) {
+            return new Job(resourceId, target, target.getHost().toLowerCase(Locale.ROOT), 1, redirects + 1);
+        }
+    }
+
+    private record Page(int status, String location, String contentType, byte[] body) {
+    }
+
+    // Копит тело до cap байт. Тело неуспешных и не-HTML ответов не читается вовсе;
+    // остаток не дочитываем — исключение из consume() обрывает соединение
+    static final class CappedResponseConsumer implements AsyncResponseConsumer<Page> {
+
+        private final int maxBytes;
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        private FutureCallback<Page> callback;
+        private int status;
+        private String location;
+        private String contentType;
+        private int cap;
+        private boolean done;
+
+        CappedResponseConsumer(int maxBytes) {
+            this.maxBytes = maxBytes;
+        }
+
+        @Override
+        public void consumeResponse(HttpResponse response, EntityDetails entity, HttpContext context,
+                                    FutureCallback<Page> resultCallback) {
+            callback = resultCallback;
+            status = response.getCode();
+            location = headerValue(response.getFirstHeader("Location"));
+            contentType = headerValue(response.getFirstHeader("Content-Type"));
+            cap = status / 100 == 2 && isHtml(contentType) ? maxBytes : 0;
+            if (entity == null || cap <= 0) {
+                complete();
+            }
+        }
+
+        @Override
+        public void informationResponse(HttpResponse response, HttpContext context) {
+        }
+
+        @Override
+        public void updateCapacity(CapacityChannel capacityChannel) throws IOException {
+            capacityChannel.update(Integer.MAX_VALUE);
+        }
+
+        @Override
+        public void consume(ByteBuffer src) throws IOException {
+            if (!done) {
+                int n = Math.min(src.remaining(), cap - buffer.size());
+                byte[] chunk = new byte[n];
+                src.get(chunk);
+                buffer.write(chunk, 0, n);
+                if (buffer.size() < cap) {
+                    return;
+                }
+                complete();
+            }
+            throw new IOException("Response body is not needed past " + buffer.size() + " bytes");
+        }
+
+        @Override
+        public void streamEnd(List<? extends Header> trailers) {
+            complete();
+        }
+
+        @Override
+        public void failed(Exception cause) {
+            done = true;
+        }
+
+        @Override
+        public void releaseResources() {
+        }
+
+        private void complete() {
+            if (!done) {
+                done = true;
+                callback.completed(new Page(status, location, contentType, buffer.toByteArray()));
+            }
+        }
+
+        private static String headerValue(Header header) {
+            return header == null ? null : header.getValue();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.resoursehub.resourseHub.enrichment;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Достаёт <title> и OpenGraph-теги из HTML без полного DOM-парсинга
+public final class LinkMetadataParser {
+
+    static final int MAX_TITLE_LENGTH = 512;
+
+    private static final Pattern TITLE = Pattern.compile("<title[^>]*>(.*?)</title>",
+            Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+    private static final Pattern META = Pattern.compile("<meta\\s[^>]*>", Pattern.CASE_INSENSITIVE);
+    private static final Pattern ATTRIBUTE = Pattern.compile("([\\w:-]+)\\s*=\\s*(?:\"([^\"]*)\"|'([^']*)')");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private LinkMetadataParser() {
+    }
+
+    public static LinkMetadata parse(Long resourceId, URI pageUri, String html) {
+        Map<String, String> meta = new HashMap<>();
+        Matcher tags = META.matcher(html);
+        while (tags.find()) {
+            String key = null;
+            String content = null;
+            Matcher attrs = ATTRIBUTE.matcher(tags.group());
+            while (attrs.find()) {
+                String name = attrs.group(1).toLowerCase(Locale.ROOT);
+                String value = attrs.group(2) != null ? attrs.group(2) : attrs.group(3);
+                if (name.equals("property") || name.equals("name")) {
+                    key = value.toLowerCase(Locale.ROOT);
+                } else if (name.equals("content")) {
+                    content = value;
+                }
+            }
+            if (key != null && content != null) {
+                meta.putIfAbsent(key, content);
+            }
+        }
+
+        String title = meta.get("og:title");
+        if (title == null) {
+            Matcher m = TITLE.matcher(html);
+            title = m.find() ? m.group(1) : null;
+        }
+        String description = meta.getOrDefault("og:description", meta.get("description"));
+
+        return new LinkMetadata(
+                resourceId,
+                truncate(clean(title), MAX_TITLE_LENGTH),
+                clean(description),
+                resolve(pageUri, clean(meta.get("og:image")))
+        );
+    }
+
+    private static String clean(String value) {
+        if (value == null) {
+            return null;
+        }
+        String text = WHITESPACE.matcher(unescape(value)).replaceAll(" ").trim();
+        return text.isEmpty() ? null : text;
+    }
+
+    private static String unescape(String value) {
+        return value.replace("&lt;", "<")
+                .replace("&gt;", ">")
+                .replace("&quot;", "\"")
+                .replace("&#39;", "'")
+                .replace("&#x27;", "'")
+                .replace("&nbsp;", " ")
+                .replace("&amp;", "&");
+    }
+
+    private static String truncate(String value, int max) {
+        return value == null || value.length() <= max ? value : value.substring(0, max);
+    }
+
+    // og:image бывает относительным — приводим к абсолютному адресу
+    private static String resolve(URI pageUri, String image) {
+        if (image == null) {
+            return null;
+        }
+        try {
+            return pageUri.resolve(image.replace(" ", "%20")).toString();
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
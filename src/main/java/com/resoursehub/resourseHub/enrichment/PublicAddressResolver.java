@@ -0,0 +1,68 @@
+package com.resoursehub.resourseHub.enrichment;
+
+import org.apache.hc.client5.http.DnsResolver;
+import org.apache.hc.client5.http.SystemDefaultDnsResolver;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * DNS-резолвер для HTTP-клиента обогащения: пропускает только публичные адреса.
+ * Клиент соединяется ровно с теми адресами, что вернул этот резолвер, поэтому проверка
+ * и соединение используют один и тот же ответ DNS — повторного резолва (и DNS rebinding) нет.
+ */
+final class PublicAddressResolver implements DnsResolver {
+
+    private final DnsResolver delegate;
+    private final Set<String> allowedPrivateHosts;
+
+    PublicAddressResolver(Set<String> allowedPrivateHosts) {
+        this(SystemDefaultDnsResolver.INSTANCE, allowedPrivateHosts);
+    }
+
+    PublicAddressResolver(DnsResolver delegate, Set<String> allowedPrivateHosts) {
+        this.delegate = delegate;
+        this.allowedPrivateHosts = allowedPrivateHosts;
+    }
+
+    @Override
+    public InetAddress[] resolve(String host) throws UnknownHostException {
+        InetAddress[] addresses = delegate.resolve(host);
+        if (allowedPrivateHosts.contains(host.toLowerCase(Locale.ROOT))) {
+            return addresses;
+        }
+        // Хватает одного внутреннего адреса: клиент перебирает их все при ошибке соединения
+        for (InetAddress address : addresses) {
+            if (isInternal(address)) {
+                throw new BlockedAddressException(host + " resolves to internal address " + address.getHostAddress());
+            }
+        }
+        return addresses;
+    }
+
+    @Override
+    public String resolveCanonicalHostname(String host) throws UnknownHostException {
+        return delegate.resolveCanonicalHostname(host);
+    }
+
+    // loopback, 169.254/16 (метаданные облаков), частные сети, 0.0.0.0/8, multicast, CGNAT 100.64/10, IPv6 ULA fc00::/7
+    static boolean isInternal(InetAddress address) {
+        if (address.isLoopbackAddress() || address.isLinkLocalAddress() || address.isSiteLocalAddress()
+                || address.isAnyLocalAddress() || address.isMulticastAddress()) {
+            return true;
+        }
+        byte[] bytes = address.getAddress();
+        if (bytes.length == 4) {
+            return bytes[0] == 0 || (bytes[0] == 100 && (bytes[1] & 0xC0) == 64);
+        }
+        return (bytes[0] & 0xFE) == 0xFC;
+    }
+
+    static final class BlockedAddressException extends UnknownHostException {
+        BlockedAddressException(String message) {
+            super(message);
+        }
+    }
+}
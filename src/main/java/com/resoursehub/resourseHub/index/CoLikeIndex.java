@@ -0,0 +1,266 @@
+package com.resoursehub.resourseHub.index;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Индекс совместных лайков "item → (item → сколько пользователей лайкнули оба)".
+ * Все таблицы примитивные: {@link LongObjectHashMap} снаружи, {@link LongIntHashMap} внутри.
+ * <p>
+ * Пользователь с числом лайков больше {@code maxUserLikes} в счётчиках не участвует:
+ * иначе один активный аккаунт даёт квадратичное число пар. Переход через порог
+ * в обе стороны пересчитывает его вклад целиком, так что индекс всегда совпадает
+ * с пересборкой с нуля.
+ * <p>
+ * Первые {@link #CACHED_TOP} соседей каждого item кешируются при чтении и сбрасываются
+ * при любом изменении его счётчиков: у популярных ресурсов соседей десятки тысяч,
+ * и полный проход по ним стоит миллисекунды.
+ * <p>
+ * addLike/removeLike идемпотентны. Чтение и запись разделены ReadWriteLock.
+ */
+public class CoLikeIndex {
+
+    public static final int CACHED_TOP = 50;
+
+    private final int maxUserLikes;
+    // user → множество лайкнутых item (значение всегда 1)
+    private final LongObjectHashMap<LongIntHashMap> userLikes = new LongObjectHashMap<>();
+    // item → соседи с числом общих пользователей
+    private final LongObjectHashMap<Neighbours> coCounts = new LongObjectHashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private long likeCount;
+
+    public CoLikeIndex(int maxUserLikes) {
+        this.maxUserLikes = maxUserLikes;
+    }
+
+    public boolean addLike(long userId, long itemId) {
+        lock.writeLock().lock();
+        try {
+            LongIntHashMap likes = userLikes.computeIfAbsent(userId, id -> new LongIntHashMap());
+            if (likes.containsKey(itemId)) {
+                return false;
+            }
+            int before = likes.size();
+            if (before < maxUserLikes) {
+                likes.forEach((other, one) -> link(itemId, other, 1));
+            } else if (before == maxUserLikes) {
+                // Пользователь перешёл порог — убираем все его пары
+                linkAll(likes, -1);
+            }
+            likes.put(itemId, 1);
+            likeCount++;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean removeLike(long userId, long itemId) {
+        lock.writeLock().lock();
+        try {
+            LongIntHashMap likes = userLikes.get(userId);
+            if (likes == null || !likes.remove(itemId)) {
+                return false;
+            }
+            int after = likes.size();
+            if (after < maxUserLikes) {
+                likes.forEach((other, one) -> link(itemId, other, -1));
+            } else if (after == maxUserLikes) {
+                // Вернулся под порог — снова учитываем все его пары
+                linkAll(likes, 1);
+            }
+            if (likes.isEmpty()) {
+                userLikes.remove(userId);
+            }
+            likeCount--;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** До limit соседей по убыванию числа общих лайков, при равенстве — по возрастанию id. */
+    public long[] topRelated(long itemId, int limit) {
+        lock.readLock().lock();
+        try {
+            Neighbours neighbours = coCounts.get(itemId);
+            if (neighbours == null || limit <= 0) {
+                return new long[0];
+            }
+            if (limit > CACHED_TOP) {
+                return neighbours.top(limit);
+            }
+            long[] top = neighbours.cachedTop;
+            if (top == null) {
+                // Гонка читателей безвредна: все посчитают одно и то же, писатели исключены локом
+                top = neighbours.top(CACHED_TOP);
+                neighbours.cachedTop = top;
+            }
+            return top.length <= limit ? top.clone() : Arrays.copyOf(top, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int coCount(long itemId, long otherId) {
+        lock.readLock().lock();
+        try {
+            Neighbours neighbours = coCounts.get(itemId);
+            return neighbours == null ? 0 : neighbours.counts.get(otherId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // --- Статистика ---
+
+    public long likeCount() {
+        lock.readLock().lock();
+        try {
+            return likeCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long pairCount() {
+        lock.readLock().lock();
+        try {
+            long[] total = {0};
+            coCounts.forEach((item, neighbours) -> total[0] += neighbours.counts.size());
+            return total[0] / 2;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Объём массивов всех таблиц в байтах (без заголовков объектов). */
+    public long footprintBytes() {
+        lock.readLock().lock();
+        try {
+            long[] total = {userLikes.footprintBytes() + coCounts.footprintBytes()};
+            userLikes.forEach((user, likes) -> total[0] += likes.footprintBytes());
+            coCounts.forEach((item, neighbours) -> total[0] += neighbours.counts.footprintBytes());
+            return total[0];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void linkAll(LongIntHashMap likes, int delta) {
+        long[] items = likes.keys();
+        for (int i = 0; i < items.length; i++) {
+            for (int j = i + 1; j < items.length; j++) {
+                link(items[i], items[j], delta);
+            }
+        }
+    }
+
+    private void link(long a, long b, int delta) {
+        increment(a, b, delta);
+        increment(b, a, delta);
+    }
+
+    private void increment(long item, long other, int delta) {
+        Neighbours neighbours = coCounts.computeIfAbsent(item, id -> new Neighbours());
+        neighbours.cachedTop = null;
+        if (neighbours.counts.addTo(other, delta) == 0 && neighbours.counts.isEmpty()) {
+            coCounts.remove(item);
+        }
+    }
+
+    private static final class Neighbours {
+
+        final LongIntHashMap counts = new LongIntHashMap();
+        volatile long[] cachedTop;
+
+        long[] top(int limit) {
+            TopN top = new TopN(Math.min(limit, counts.size()));
+            counts.forEach(top::offer);
+            return top.sortedIds();
+        }
+    }
+
+    // Отбор N лучших через min-кучу на массивах: O(k log N) без упаковки
+    private static final class TopN {
+
+        private final long[] ids;
+        private final int[] counts;
+        private int size;
+
+        TopN(int capacity) {
+            ids = new long[capacity];
+            counts = new int[capacity];
+        }
+
+        void offer(long id, int count) {
+            if (ids.length == 0) {
+                return;
+            }
+            if (size < ids.length) {
+                ids[size] = id;
+                counts[size] = count;
+                siftUp(size++);
+            } else if (better(id, count, 0)) {
+                ids[0] = id;
+                counts[0] = count;
+                siftDown(0);
+            }
+        }
+
+        long[] sortedIds() {
+            long[] result = new long[size];
+            // Снимаем минимум с кучи и заполняем результат с конца
+            for (int i = size - 1; i >= 0; i--) {
+                result[i] = ids[0];
+                size--;
+                ids[0] = ids[size];
+                counts[0] = counts[size];
+                siftDown(0);
+            }
+            return result;
+        }
+
+        private boolean better(long id, int count, int slot) {
+            return count > counts[slot] || (count == counts[slot] && id < ids[slot]);
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (!better(ids[parent], counts[parent], i)) {
+                    break;
+                }
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int left = 2 * i + 1;
+                if (left >= size) {
+                    return;
+                }
+                int right = left + 1;
+                int smallest = right < size && better(ids[left], counts[left], right) ? right : left;
+                if (!better(ids[i], counts[i], smallest)) {
+                    return;
+                }
+                swap(i, smallest);
+                i = smallest;
+            }
+        }
+
+        private void swap(int a, int b) {
+            long id = ids[a];
+            ids[a] = ids[b];
+            ids[b] = id;
+            int count = counts[a];
+            counts[a] = counts[b];
+            counts[b] = count;
+        }
+    }
+}
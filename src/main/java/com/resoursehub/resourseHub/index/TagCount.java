@@ -0,0 +1,5 @@
+package com.resoursehub.resourseHub.index;
+
+// Тег и число ресурсов с ним
+public record TagCount(String tag, int count) {
+}
@@ -0,0 +1,323 @@
+package com.resoursehub.resourseHub.index;
+
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Инвертированный индекс тегов: префиксное дерево для автодополнения
+ * и списки ресурсов на каждый тег в сжатых битмапах (RoaringBitmap).
+ * Теги приводятся к нижнему регистру, id ресурсов должны помещаться в int.
+ * <p>
+ * add/remove идемпотентны. Чтение и запись разделены ReadWriteLock;
+ * наружу отдаются только копии битмапов.
+ */
+public class TagIndex {
+
+    private static final Comparator<TagCount> BY_POPULARITY =
+            Comparator.comparingInt(TagCount::count).reversed().thenComparing(TagCount::tag);
+
+    private final Node root = new Node();
+    // Быстрый доступ к концевым узлам без прохода по дереву
+    private final Map<String, Node> byTag = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public static String normalize(String tag) {
+        if (tag == null) {
+            return null;
+        }
+        String normalized = tag.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+        return normalized.isEmpty() ? null : normalized;
+    }
+
+    public void add(long resourceId, Collection<String> tags) {
+        int id = Math.toIntExact(resourceId);
+        lock.writeLock().lock();
+        try {
+            for (String tag : normalizeAll(tags)) {
+                Node node = byTag.get(tag);
+                if (node == null) {
+                    node = root.insert(tag);
+                    byTag.put(tag, node);
+                }
+                node.postings.add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long resourceId, Collection<String> tags) {
+        int id = Math.toIntExact(resourceId);
+        lock.writeLock().lock();
+        try {
+            for (String tag : normalizeAll(tags)) {
+                Node node = byTag.get(tag);
+                if (node == null) {
+                    continue;
+                }
+                node.postings.remove(id);
+                if (node.postings.isEmpty()) {
+                    byTag.remove(tag);
+                    root.delete(tag, 0);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Самые популярные теги, начинающиеся с prefix. */
+    public List<TagCount> suggest(String prefix, int limit) {
+        // Хвостовой пробел не срезаем: "machine " должен находить "machine learning"
+        String normalized = prefix == null ? "" : prefix.stripLeading().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+        lock.readLock().lock();
+        try {
+            Node start = root.find(normalized);
+            if (start == null || limit <= 0) {
+                return List.of();
+            }
+            PriorityQueue<TagCount> top = new PriorityQueue<>(BY_POPULARITY.reversed());
+            start.collect(node -> offer(top, new TagCount(node.tag, node.postings.getCardinality()), limit));
+            return sorted(top);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Число ресурсов на тег — по всем ресурсам (filter == null)
+     * или только среди отфильтрованных.
+     */
+    public List<TagCount> facets(RoaringBitmap filter, int limit) {
+        lock.readLock().lock();
+        try {
+            if (limit <= 0) {
+                return List.of();
+            }
+            PriorityQueue<TagCount> top = new PriorityQueue<>(BY_POPULARITY.reversed());
+            byTag.forEach((tag, node) -> {
+                int count = filter == null
+                        ? node.postings.getCardinality()
+                        : RoaringBitmap.andCardinality(node.postings, filter);
+                if (count > 0) {
+                    offer(top, new TagCount(tag, count), limit);
+                }
+            });
+            return sorted(top);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Ресурсы, у которых есть все теги (AND). */
+    public RoaringBitmap matchAll(Collection<String> tags) {
+        lock.readLock().lock();
+        try {
+            List<RoaringBitmap> postings = new ArrayList<>();
+            for (String tag : normalizeAll(tags)) {
+                Node node = byTag.get(tag);
+                if (node == null) {
+                    return new RoaringBitmap();
+                }
+                postings.add(node.postings);
+            }
+            if (postings.isEmpty()) {
+                return new RoaringBitmap();
+            }
+            // Начинаем с самого короткого списка — пересечение быстрее сужается
+            postings.sort(Comparator.comparingLong(RoaringBitmap::getLongCardinality));
+            RoaringBitmap result = postings.get(0).clone();
+            for (int i = 1; i < postings.size() && !result.isEmpty(); i++) {
+                result.and(postings.get(i));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Ресурсы, у которых есть хотя бы один из тегов (OR). */
+    public RoaringBitmap matchAny(Collection<String> tags) {
+        lock.readLock().lock();
+        try {
+            List<RoaringBitmap> postings = new ArrayList<>();
+            for (String tag : normalizeAll(tags)) {
+                Node node = byTag.get(tag);
+                if (node != null) {
+                    postings.add(node.postings);
+                }
+            }
+            return RoaringBitmap.or(postings.iterator());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Страница id из результата matchAll/matchAny: новые (большие id) сначала, строго меньше before.
+     * previousValue находит ближайший id ниже курсора без обхода битмапа с конца.
+     */
+    public static List<Long> newestFirst(RoaringBitmap ids, Long before, int limit) {
+        long next = ids.isEmpty() ? -1 : ids.last();
+        if (before != null && before <= next) {
+            next = before < 1 ? -1 : ids.previousValue((int) (before - 1));
+        }
+        List<Long> page = new ArrayList<>();
+        while (next >= 0 && page.size() < limit) {
+            page.add(next);
+            next = next == 0 ? -1 : ids.previousValue((int) (next - 1));
+        }
+        return page;
+    }
+
+    public int tagCount() {
+        lock.readLock().lock();
+        try {
+            return byTag.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static Set<String> normalizeAll(Collection<String> tags) {
+        Set<String> result = new LinkedHashSet<>();
+        if (tags != null) {
+            for (String tag : tags) {
+                String normalized = normalize(tag);
+                if (normalized != null) {
+                    result.add(normalized);
+                }
+            }
+        }
+        return result;
+    }
+
+    // Min-куча из limit лучших: в корне худший из отобранных
+    private static void offer(PriorityQueue<TagCount> top, TagCount candidate, int limit) {
+        if (top.size() < limit) {
+            top.add(candidate);
+        } else if (BY_POPULARITY.compare(candidate, top.peek()) < 0) {
+            top.poll();
+            top.add(candidate);
+        }
+    }
+
+    private static List<TagCount> sorted(PriorityQueue<TagCount> top) {
+        List<TagCount> result = new ArrayList<>(top);
+        result.sort(BY_POPULARITY);
+        return result;
+    }
+
+    // Узел дерева: дети в отсортированном массиве символов, поиск бинарный
+    private static final class Node {
+
+        private static final char[] NO_KEYS = new char[0];
+        private static final Node[] NO_CHILDREN = new Node[0];
+
+        char[] keys = NO_KEYS;
+        Node[] children = NO_CHILDREN;
+        String tag;
+        RoaringBitmap postings;
+
+        Node child(char c) {
+            int i = Arrays.binarySearch(keys, c);
+            return i >= 0 ? children[i] : null;
+        }
+
+        Node find(String prefix) {
+            Node node = this;
+            for (int i = 0; i < prefix.length() && node != null; i++) {
+                node = node.child(prefix.charAt(i));
+            }
+            return node;
+        }
+
+        Node insert(String word) {
+            Node node = this;
+            for (int i = 0; i < word.length(); i++) {
+                char c = word.charAt(i);
+                int at = Arrays.binarySearch(node.keys, c);
+                if (at < 0) {
+                    at = -at - 1;
+                    node.keys = insertAt(node.keys, at, c);
+                    node.children = insertAt(node.children, at, new Node());
+                }
+                node = node.children[at];
+            }
+            node.tag = word;
+            node.postings = new RoaringBitmap();
+            return node;
+        }
+
+        // Снимает метку тега и удаляет опустевшие узлы; true — узел можно удалить у родителя
+        boolean delete(String word, int depth) {
+            if (depth == word.length()) {
+                tag = null;
+                postings = null;
+                return keys.length == 0;
+            }
+            int at = Arrays.binarySearch(keys, word.charAt(depth));
+            if (at < 0) {
+                return false;
+            }
+            if (children[at].delete(word, depth + 1)) {
+                keys = removeAt(keys, at);
+                children = removeAt(children, at);
+            }
+            return tag == null && keys.length == 0;
+        }
+
+        void collect(Consumer<Node> consumer) {
+            if (tag != null) {
+                consumer.accept(this);
+            }
+            for (Node child : children) {
+                child.collect(consumer);
+            }
+        }
+
+        private static char[] insertAt(char[] array, int at, char value) {
+            char[] result = new char[array.length + 1];
+            System.arraycopy(array, 0, result, 0, at);
+            result[at] = value;
+            System.arraycopy(array, at, result, at + 1, array.length - at);
+            return result;
+        }
+
+        private static Node[] insertAt(Node[] array, int at, Node value) {
+            Node[] result = new Node[array.length + 1];
+            System.arraycopy(array, 0, result, 0, at);
+            result[at] = value;
+            System.arraycopy(array, at, result, at + 1, array.length - at);
+            return result;
+        }
+
+        private static char[] removeAt(char[] array, int at) {
+            char[] result = new char[array.length - 1];
+            System.arraycopy(array, 0, result, 0, at);
+            System.arraycopy(array, at + 1, result, at, array.length - at - 1);
+            return result;
+        }
+
+        private static Node[] removeAt(Node[] array, int at) {
+            Node[] result = new Node[array.length - 1];
+            System.arraycopy(array, 0, result, 0, at);
+            System.arraycopy(array, at + 1, result, at, array.length - at - 1);
+            return result;
+        }
+    }
+}
@@ -13,8 +13,10 @@ import java.time.Instant;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+// Индекс по resource_id — для подсчёта лайков карточек (уникальный ключ начинается с user_id и тут не помогает)
 @Table(name = "likes",
-        uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "resource_id"}))
+        uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "resource_id"}),
+        indexes = @Index(columnList = "resource_id"))
 public class LikeEntity {
 
     @Id
@@ -37,15 +37,28 @@ public class Resource {
     @Column(nullable = false)
     private ResourceType type;
 
-    // Теги (простая реализация через ElementCollection)
+    // Теги (простая реализация через ElementCollection); индекс — для загрузки тегов карточек
     @ElementCollection
-    @CollectionTable(name = "resource_tags", joinColumns = @JoinColumn(name = "resource_id"))
+    @CollectionTable(name = "resource_tags", joinColumns = @JoinColumn(name = "resource_id"),
+            indexes = @Index(columnList = "resource_id"))
     @Column(name = "tag")
     private List<String> tags;
 
     // Дата создания
     private Instant createdAt = Instant.now();
 
+    // Данные со страницы по ссылке — заполняются фоново (LinkEnrichmentService)
+    @Column(length = 512)
+    private String pageTitle;
+
+    @Column(columnDefinition = "text")
+    private String pageDescription;
+
+    @Column(columnDefinition = "text")
+    private String imageUrl;
+
+    private Instant enrichedAt;
+
     // Кто добавил ресурс
     @ManyToOne
     @JoinColumn(name = "user_id", nullable = false)
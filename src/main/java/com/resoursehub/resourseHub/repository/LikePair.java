@@ -0,0 +1,5 @@
+package com.resoursehub.resourseHub.repository;
+
+// Пара (пользователь, ресурс) из таблицы likes без загрузки сущностей
+public record LikePair(Long userId, Long resourceId) {
+}
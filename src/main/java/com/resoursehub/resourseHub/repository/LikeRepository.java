@@ -3,11 +3,34 @@ package com.resoursehub.resourseHub.repository;
 import com.resoursehub.resourseHub.model.LikeEntity;
 import com.resoursehub.resourseHub.model.Resource;
 import com.resoursehub.resourseHub.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface LikeRepository extends JpaRepository<LikeEntity, Long> {
     Optional<LikeEntity> findByUserAndResource(User user, Resource resource);
     void deleteByUserAndResource(User user, Resource resource);
-}
\ No newline at end of file
+
+    @Query("select l.resource.id from LikeEntity l where l.user.id = :userId")
+    List<Long> findResourceIdsByUserId(Long userId);
+
+    // Курсором по всей таблице; вызывать внутри read-only транзакции и закрывать поток
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "10000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new com.resoursehub.resourseHub.repository.LikePair(l.user.id, l.resource.id) " +
+            "from LikeEntity l order by l.user.id")
+    Stream<LikePair> streamAllPairs();
+
+    @Query("select new com.resoursehub.resourseHub.repository.ResourceLikeCount(l.resource.id, count(l)) " +
+            "from LikeEntity l where l.resource.id in :resourceIds group by l.resource.id")
+    List<ResourceLikeCount> countByResourceIds(Collection<Long> resourceIds);
+}
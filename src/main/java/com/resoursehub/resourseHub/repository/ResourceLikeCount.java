@@ -0,0 +1,5 @@
+package com.resoursehub.resourseHub.repository;
+
+// Число лайков ресурса без загрузки самих лайков
+public record ResourceLikeCount(Long resourceId, long likes) {
+}
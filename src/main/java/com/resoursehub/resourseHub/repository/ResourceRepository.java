@@ -2,12 +2,36 @@ package com.resoursehub.resourseHub.repository;
 
 import com.resoursehub.resourseHub.model.Resource;
 import com.resoursehub.resourseHub.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface ResourceRepository extends JpaRepository<Resource, Long> {
     List<Resource> findByUser(User user);
     Optional<Resource> findByIdAndUserId(Long id, Long userId);
-}
\ No newline at end of file
+
+    // Для карточек: автор и теги одним запросом, без N+1
+    @Query("select distinct r from Resource r join fetch r.user left join fetch r.tags where r.id in :ids")
+    List<Resource> findWithUserAndTagsByIdIn(Collection<Long> ids);
+
+    // Страница ленты без тегов: только id по первичному ключу, сами ресурсы — запросом выше
+    @Query("select r.id from Resource r where r.id < :before order by r.id desc")
+    List<Long> findIdsBefore(long before, Limit limit);
+
+    // Курсором по resource_tags; вызывать внутри read-only транзакции и закрывать поток
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "10000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new com.resoursehub.resourseHub.repository.ResourceTagPair(r.id, t) " +
+            "from Resource r join r.tags t")
+    Stream<ResourceTagPair> streamAllTags();
+}
@@ -0,0 +1,5 @@
+package com.resoursehub.resourseHub.repository;
+
+// Строка таблицы resource_tags без загрузки Resource
+public record ResourceTagPair(Long resourceId, String tag) {
+}
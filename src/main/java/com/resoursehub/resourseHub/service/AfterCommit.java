@@ -0,0 +1,26 @@
+package com.resoursehub.resourseHub.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Индексы в памяти обновляем только после коммита: откат не должен их менять,
+// а ленивая загрузка LikeStateService должна видеть лайк либо в БД, либо в очереди изменений.
+// Вне транзакции действие выполняется сразу.
+final class AfterCommit {
+
+    private AfterCommit() {
+    }
+
+    static void run(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
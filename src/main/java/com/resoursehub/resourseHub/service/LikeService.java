@@ -12,13 +12,18 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.time.Instant;
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
 public class LikeService {
 
+    public static final int MAX_STATE_IDS = 500;
+
     private final LikeRepository likeRepository;
     private final ResourceRepository resourceRepository;
+    private final RelatedResourcesService relatedResourcesService;
+    private final LikeStateService likeStateService;
 
     @Transactional
     public LikeEntity likeResource(Long resourceId, User currentUser) {
@@ -36,7 +41,13 @@ public class LikeService {
                 .createdAt(Instant.now())
                 .build();
 
-        return likeRepository.save(like);
+        LikeEntity saved = likeRepository.save(like);
+        Long userId = currentUser.getId();
+        AfterCommit.run(() -> {
+            relatedResourcesService.onLike(userId, resourceId);
+            likeStateService.onLike(userId, resourceId);
+        });
+        return saved;
     }
 
     @Transactional
@@ -51,6 +62,18 @@ public class LikeService {
 
         // Если всё ок — удаляем
         likeRepository.delete(like);
+        Long userId = currentUser.getId();
+        AfterCommit.run(() -> {
+            relatedResourcesService.onUnlike(userId, resourceId);
+            likeStateService.onUnlike(userId, resourceId);
+        });
+    }
+
+    public List<Long> getLikedResourceIds(List<Long> resourceIds, User currentUser) {
+        if (resourceIds.size() > MAX_STATE_IDS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Too many resource ids, max " + MAX_STATE_IDS);
+        }
+        return likeStateService.getLiked(currentUser.getId(), resourceIds);
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,113 @@
+package com.resoursehub.resourseHub.service;
+
+import com.resoursehub.resourseHub.repository.LikeRepository;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// "Что из этого я лайкнул": битмап лайкнутых ресурсов на пользователя.
+// Битмап грузится из БД при первом запросе и дальше обновляется из LikeService
+// после коммита. Держим не больше maxUsers последних активных пользователей (LRU).
+@Service
+public class LikeStateService {
+
+    private final LikeRepository likeRepository;
+    // Под монитором cache; порядок доступа — для вытеснения
+    private final Map<Long, Entry> cache;
+
+    public LikeStateService(LikeRepository likeRepository,
+                            @Value("${resourcehub.like-state.max-users:10000}") int maxUsers) {
+        this.likeRepository = likeRepository;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                return size() > maxUsers;
+            }
+        };
+    }
+
+    /** Подмножество resourceIds, лайкнутых пользователем, в порядке запроса. */
+    public List<Long> getLiked(Long userId, Collection<Long> resourceIds) {
+        Entry entry;
+        synchronized (cache) {
+            entry = cache.get(userId);
+            if (entry != null && entry.bitmap != null) {
+                return filter(entry.bitmap, resourceIds);
+            }
+            if (entry == null) {
+                entry = new Entry();
+                cache.put(userId, entry);
+            }
+        }
+
+        // Читаем из БД вне лока. Лайки, закоммиченные после создания записи,
+        // копятся в entry.pending и накатываются поверх снимка — add/remove идемпотентны.
+        RoaringBitmap liked = new RoaringBitmap();
+        for (Long resourceId : likeRepository.findResourceIdsByUserId(userId)) {
+            liked.add(Math.toIntExact(resourceId));
+        }
+
+        synchronized (cache) {
+            if (entry.bitmap == null) {
+                entry.pending.forEach(op -> op.applyTo(liked));
+                entry.pending = null;
+                entry.bitmap = liked;
+            }
+            return filter(entry.bitmap, resourceIds);
+        }
+    }
+
+    public void onLike(Long userId, Long resourceId) {
+        update(userId, new LikeOp(true, Math.toIntExact(resourceId)));
+    }
+
+    public void onUnlike(Long userId, Long resourceId) {
+        update(userId, new LikeOp(false, Math.toIntExact(resourceId)));
+    }
+
+    private void update(Long userId, LikeOp op) {
+        synchronized (cache) {
+            Entry entry = cache.get(userId);
+            if (entry == null) {
+                return;
+            }
+            if (entry.bitmap == null) {
+                entry.pending.add(op);
+            } else {
+                op.applyTo(entry.bitmap);
+            }
+        }
+    }
+
+    private static List<Long> filter(RoaringBitmap liked, Collection<Long> resourceIds) {
+        List<Long> result = new ArrayList<>();
+        for (Long id : resourceIds) {
+            if (id != null && id >= 0 && id <= Integer.MAX_VALUE && liked.contains(id.intValue())) {
+                result.add(id);
+            }
+        }
+        return result;
+    }
+
+    // bitmap == null — запись ещё грузится, изменения ждут в pending
+    private static final class Entry {
+        RoaringBitmap bitmap;
+        List<LikeOp> pending = new ArrayList<>();
+    }
+
+    private record LikeOp(boolean liked, int resourceId) {
+        void applyTo(RoaringBitmap bitmap) {
+            if (liked) {
+                bitmap.add(resourceId);
+            } else {
+                bitmap.remove(resourceId);
+            }
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.resoursehub.resourseHub.service;
+
+import com.resoursehub.resourseHub.enrichment.EnrichmentProperties;
+import com.resoursehub.resourseHub.enrichment.LinkMetadata;
+import com.resoursehub.resourseHub.enrichment.LinkMetadataFetcher;
+import com.resoursehub.resourseHub.model.Resource;
+import com.resoursehub.resourseHub.repository.ResourceRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToDoubleFunction;
+
+// Фоновое обогащение ресурсов: заголовок страницы, OpenGraph-описание и картинка.
+// Загрузка идёт асинхронно, результаты пишутся в БД пачками по расписанию.
+@Slf4j
+@Service
+public class LinkEnrichmentService {
+
+    private final ResourceRepository resourceRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final EnrichmentProperties properties;
+    private final LinkMetadataFetcher fetcher;
+
+    private final ConcurrentLinkedQueue<LinkMetadata> results = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger resultsSize = new AtomicInteger();
+    private final Counter written;
+    private final Counter writeFailed;
+
+    public LinkEnrichmentService(ResourceRepository resourceRepository,
+                                 PlatformTransactionManager transactionManager,
+                                 EnrichmentProperties properties,
+                                 MeterRegistry meterRegistry) {
+        this.resourceRepository = resourceRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        this.fetcher = new LinkMetadataFetcher(properties, this::collect);
+
+        Gauge.builder("resourcehub.enrichment.queue.depth", fetcher, LinkMetadataFetcher::queueDepth)
+                .register(meterRegistry);
+        Gauge.builder("resourcehub.enrichment.in.flight", fetcher, LinkMetadataFetcher::inFlight)
+                .register(meterRegistry);
+        Gauge.builder("resourcehub.enrichment.retry.waiting", fetcher, LinkMetadataFetcher::awaitingRetry)
+                .register(meterRegistry);
+        Gauge.builder("resourcehub.enrichment.results.pending", resultsSize, AtomicInteger::get)
+                .register(meterRegistry);
+        registerCounter(meterRegistry, "submitted", LinkMetadataFetcher::submitted);
+        registerCounter(meterRegistry, "rejected", LinkMetadataFetcher::rejected);
+        registerCounter(meterRegistry, "succeeded", LinkMetadataFetcher::succeeded);
+        registerCounter(meterRegistry, "skipped", LinkMetadataFetcher::skipped);
+        registerCounter(meterRegistry, "blocked", LinkMetadataFetcher::blocked);
+        registerCounter(meterRegistry, "failed", LinkMetadataFetcher::failed);
+        registerCounter(meterRegistry, "retried", LinkMetadataFetcher::retried);
+        this.written = meterRegistry.counter("resourcehub.enrichment.written");
+        this.writeFailed = meterRegistry.counter("resourcehub.enrichment.write.failed");
+    }
+
+    // Не блокирует: ссылка только ставится в очередь
+    public void enqueue(Resource resource) {
+        if (!properties.enabled() || resource.getId() == null) {
+            return;
+        }
+        fetcher.submit(resource.getId(), resource.getUrl());
+    }
+
+    @Scheduled(fixedDelayString = "${resourcehub.enrichment.flush-interval:1s}")
+    public void flush() {
+        List<LinkMetadata> batch;
+        while (!(batch = drain(properties.batchSize())).isEmpty()) {
+            write(batch);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        fetcher.close();
+        flush();
+    }
+
+    private void collect(LinkMetadata metadata) {
+        results.add(metadata);
+        resultsSize.incrementAndGet();
+    }
+
+    private List<LinkMetadata> drain(int max) {
+        List<LinkMetadata> batch = new ArrayList<>(max);
+        LinkMetadata next;
+        while (batch.size() < max && (next = results.poll()) != null) {
+            resultsSize.decrementAndGet();
+            batch.add(next);
+        }
+        return batch;
+    }
+
+    // Одна транзакция на пачку: один select по id, update-ы уходят JDBC-батчем (hibernate.jdbc.batch_size)
+    private void write(List<LinkMetadata> batch) {
+        Map<Long, LinkMetadata> byId = new LinkedHashMap<>();
+        batch.forEach(m -> byId.put(m.resourceId(), m));
+
+        try {
+            Integer updated = transactionTemplate.execute(status -> {
+                List<Resource> resources = resourceRepository.findAllById(byId.keySet());
+                Instant now = Instant.now();
+                for (Resource resource : resources) {
+                    LinkMetadata metadata = byId.get(resource.getId());
+                    resource.setPageTitle(metadata.title());
+                    resource.setPageDescription(metadata.description());
+                    resource.setImageUrl(metadata.imageUrl());
+                    resource.setEnrichedAt(now);
+                }
+                return resources.size();
+            });
+            written.increment(updated == null ? 0 : updated);
+        } catch (RuntimeException e) {
+            writeFailed.increment(byId.size());
+            log.warn("Failed to write link metadata for {} resources", byId.size(), e);
+        }
+    }
+
+    private void registerCounter(MeterRegistry registry, String name, ToDoubleFunction<LinkMetadataFetcher> f) {
+        FunctionCounter.builder("resourcehub.enrichment." + name, fetcher, f).register(registry);
+    }
+}
@@ -0,0 +1,124 @@
+package com.resoursehub.resourseHub.service;
+
+import com.resoursehub.resourseHub.index.CoLikeIndex;
+import com.resoursehub.resourseHub.model.Resource;
+import com.resoursehub.resourseHub.repository.LikePair;
+import com.resoursehub.resourseHub.repository.LikeRepository;
+import com.resoursehub.resourseHub.repository.ResourceRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+// "Те, кому понравилось это, также лайкали": индекс совместных лайков в памяти.
+// Строится при старте потоком из таблицы likes и дальше обновляется из LikeService.
+@Slf4j
+@Service
+public class RelatedResourcesService {
+
+    public static final int MAX_LIMIT = CoLikeIndex.CACHED_TOP;
+
+    private final LikeRepository likeRepository;
+    private final ResourceRepository resourceRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int maxUserLikes;
+
+    // Запись в индекс и подмена при пересборке — под монитором this
+    private volatile CoLikeIndex index;
+    private List<LikeEvent> buffered;
+
+    public RelatedResourcesService(LikeRepository likeRepository,
+                                   ResourceRepository resourceRepository,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${resourcehub.related.max-user-likes:500}") int maxUserLikes) {
+        this.likeRepository = likeRepository;
+        this.resourceRepository = resourceRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.maxUserLikes = maxUserLikes;
+        this.index = new CoLikeIndex(maxUserLikes);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        synchronized (this) {
+            buffered = new ArrayList<>();
+        }
+        long started = System.nanoTime();
+        CoLikeIndex fresh = new CoLikeIndex(maxUserLikes);
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<LikePair> pairs = likeRepository.streamAllPairs()) {
+                    pairs.forEach(p -> fresh.addLike(p.userId(), p.resourceId()));
+                }
+            });
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                buffered = null;
+            }
+            throw e;
+        }
+        synchronized (this) {
+            // Лайки, пришедшие во время чтения таблицы; операции идемпотентны
+            for (LikeEvent event : buffered) {
+                event.applyTo(fresh);
+            }
+            buffered = null;
+            index = fresh;
+        }
+        log.info("Co-like index built: {} likes, {} pairs in {} ms",
+                fresh.likeCount(), fresh.pairCount(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    public synchronized void onLike(Long userId, Long resourceId) {
+        apply(new LikeEvent(true, userId, resourceId));
+    }
+
+    public synchronized void onUnlike(Long userId, Long resourceId) {
+        apply(new LikeEvent(false, userId, resourceId));
+    }
+
+    // Порядок id берётся из индекса, из БД — только сами ресурсы одним запросом
+    public List<Resource> getRelated(Long resourceId, int limit) {
+        long[] ids = index.topRelated(resourceId, Math.min(limit, MAX_LIMIT));
+        if (ids.length == 0) {
+            return List.of();
+        }
+        Map<Long, Integer> rank = new HashMap<>();
+        List<Long> boxed = new ArrayList<>(ids.length);
+        for (int i = 0; i < ids.length; i++) {
+            rank.put(ids[i], i);
+            boxed.add(ids[i]);
+        }
+        List<Resource> resources = new ArrayList<>(resourceRepository.findWithUserAndTagsByIdIn(boxed));
+        resources.sort(Comparator.comparingInt(r -> rank.get(r.getId())));
+        return resources;
+    }
+
+    private void apply(LikeEvent event) {
+        if (buffered != null) {
+            buffered.add(event);
+        }
+        event.applyTo(index);
+    }
+
+    private record LikeEvent(boolean liked, long userId, long resourceId) {
+        void applyTo(CoLikeIndex target) {
+            if (liked) {
+                target.addLike(userId, resourceId);
+            } else {
+                target.removeLike(userId, resourceId);
+            }
+        }
+    }
+}
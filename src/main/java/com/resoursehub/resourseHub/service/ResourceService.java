@@ -1,28 +1,48 @@
 package com.resoursehub.resourseHub.service;
 
+import com.resoursehub.resourseHub.dto.ResourceCard;
+import com.resoursehub.resourseHub.index.TagIndex;
 import com.resoursehub.resourseHub.model.Resource;
 import com.resoursehub.resourseHub.model.User;
+import com.resoursehub.resourseHub.repository.LikeRepository;
+import com.resoursehub.resourseHub.repository.ResourceLikeCount;
 import com.resoursehub.resourseHub.repository.ResourceRepository;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class ResourceService {
 
 
+    public static final int MAX_FEED_LIMIT = 100;
+
     private final ResourceRepository resourceRepository;
+    private final LikeRepository likeRepository;
+    private final LinkEnrichmentService linkEnrichmentService;
+    private final RelatedResourcesService relatedResourcesService;
+    private final TagIndexService tagIndexService;
+    private final LikeStateService likeStateService;
 
     public Resource createResource(Resource resource, User currentUser) {
         resource.setUser(currentUser);
         resource.setCreatedAt(Instant.now());
-        return resourceRepository.save(resource);
+        Resource saved = resourceRepository.save(resource);
+        tagIndexService.onCreate(saved.getId(), saved.getTags());
+        // Метаданные ссылки подтянутся в фоне, ответ не ждёт загрузки страницы
+        linkEnrichmentService.enqueue(saved);
+        return saved;
     }
 
     public List<Resource> getMyResources(User currentUser) {
@@ -40,13 +60,57 @@ public class ResourceService {
     public void deleteResource(Long resourceId, User currentUser) {
         Resource resource = resourceRepository.findByIdAndUserId(resourceId, currentUser.getId())
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Resource not found"));
+        // Лайки удаляются каскадом — убираем их и из индексов в памяти, но только после коммита
+        List<Long> likerIds = resource.getLikes().stream()
+                .map(like -> like.getUser().getId())
+                .toList();
+        // Теги копируем внутри транзакции: после коммита ленивую коллекцию уже не прочитать
+        List<String> tags = resource.getTags() == null ? List.of() : new ArrayList<>(resource.getTags());
         resourceRepository.delete(resource);
+        AfterCommit.run(() -> {
+            likerIds.forEach(userId -> {
+                relatedResourcesService.onUnlike(userId, resourceId);
+                likeStateService.onUnlike(userId, resourceId);
+            });
+            tagIndexService.onDelete(resourceId, tags);
+        });
     }
 
 
 
-    public List<Resource> getAllResources() {
-        return resourceRepository.findAll();
+    // Лента, новые сначала. С тегами id берутся из битмапов индекса, без тегов — по первичному ключу;
+    // из БД загружается только сама страница. before — курсор: id последней карточки предыдущей страницы
+    public List<ResourceCard> getFeed(List<String> tags, boolean matchAll, Long before, int limit) {
+        int max = Math.min(limit, MAX_FEED_LIMIT);
+        List<Long> page = tags == null || tags.isEmpty()
+                ? resourceRepository.findIdsBefore(before == null ? Long.MAX_VALUE : before, Limit.of(max))
+                : TagIndex.newestFirst(tagIndexService.match(tags, matchAll), before, max);
+        if (page.isEmpty()) {
+            return List.of();
+        }
+        List<Resource> resources = new ArrayList<>(resourceRepository.findWithUserAndTagsByIdIn(page));
+        resources.sort(Comparator.comparing(Resource::getId).reversed());
+        return toCards(resources);
+    }
+
+    public List<ResourceCard> getRelatedResources(Long id, int limit) {
+        return toCards(relatedResourcesService.getRelated(id, limit));
+    }
+
+    // Порядок сохраняется; лайки считаем одним запросом, не загружая их
+    private List<ResourceCard> toCards(List<Resource> resources) {
+        if (resources.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Long> likes = likeCounts(likeRepository.countByResourceIds(
+                resources.stream().map(Resource::getId).toList()));
+        return resources.stream()
+                .map(resource -> ResourceCard.of(resource, likes.getOrDefault(resource.getId(), 0L)))
+                .toList();
+    }
+
+    private static Map<Long, Long> likeCounts(List<ResourceLikeCount> counts) {
+        return counts.stream().collect(Collectors.toMap(ResourceLikeCount::resourceId, ResourceLikeCount::likes));
     }
 
 }
@@ -0,0 +1,122 @@
+package com.resoursehub.resourseHub.service;
+
+import com.resoursehub.resourseHub.index.TagCount;
+import com.resoursehub.resourseHub.index.TagIndex;
+import com.resoursehub.resourseHub.repository.ResourceRepository;
+import com.resoursehub.resourseHub.repository.ResourceTagPair;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+// Автодополнение тегов, фасеты и фильтр ленты по тегам без SQL.
+// Индекс строится при старте из resource_tags и дальше обновляется из ResourceService.
+@Slf4j
+@Service
+public class TagIndexService {
+
+    public static final int MAX_LIMIT = 100;
+
+    private final ResourceRepository resourceRepository;
+    private final TransactionTemplate readOnlyTransaction;
+
+    // Запись в индекс и подмена при пересборке — под монитором this
+    private volatile TagIndex index = new TagIndex();
+    private List<TagEvent> buffered;
+
+    public TagIndexService(ResourceRepository resourceRepository, PlatformTransactionManager transactionManager) {
+        this.resourceRepository = resourceRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        synchronized (this) {
+            buffered = new ArrayList<>();
+        }
+        long started = System.nanoTime();
+        TagIndex fresh = new TagIndex();
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<ResourceTagPair> pairs = resourceRepository.streamAllTags()) {
+                    pairs.forEach(p -> fresh.add(p.resourceId(), List.of(p.tag())));
+                }
+            });
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                buffered = null;
+            }
+            throw e;
+        }
+        synchronized (this) {
+            // Изменения, пришедшие во время чтения таблицы; операции идемпотентны
+            for (TagEvent event : buffered) {
+                event.applyTo(fresh);
+            }
+            buffered = null;
+            index = fresh;
+        }
+        log.info("Tag index built: {} tags in {} ms", fresh.tagCount(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    public synchronized void onCreate(Long resourceId, Collection<String> tags) {
+        apply(new TagEvent(true, resourceId, tags == null ? List.of() : new ArrayList<>(tags)));
+    }
+
+    public synchronized void onDelete(Long resourceId, Collection<String> tags) {
+        apply(new TagEvent(false, resourceId, tags == null ? List.of() : new ArrayList<>(tags)));
+    }
+
+    public List<TagCount> suggest(String prefix, int limit) {
+        return index.suggest(prefix, Math.min(limit, MAX_LIMIT));
+    }
+
+    // Без тегов — по всем ресурсам, иначе только среди подходящих под фильтр
+    public List<TagCount> facets(List<String> tags, boolean matchAll, int limit) {
+        RoaringBitmap filter = tags == null || tags.isEmpty() ? null : match(tags, matchAll);
+        return index.facets(filter, Math.min(limit, MAX_LIMIT));
+    }
+
+    public RoaringBitmap match(List<String> tags, boolean matchAll) {
+        return matchAll ? index.matchAll(tags) : index.matchAny(tags);
+    }
+
+    // match=all — AND по тегам, match=any — OR
+    public static boolean isMatchAll(String match) {
+        if ("all".equalsIgnoreCase(match)) {
+            return true;
+        }
+        if ("any".equalsIgnoreCase(match)) {
+            return false;
+        }
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "match must be 'all' or 'any'");
+    }
+
+    private void apply(TagEvent event) {
+        if (buffered != null) {
+            buffered.add(event);
+        }
+        event.applyTo(index);
+    }
+
+    private record TagEvent(boolean created, long resourceId, List<String> tags) {
+        void applyTo(TagIndex target) {
+            if (created) {
+                target.add(resourceId, tags);
+            } else {
+                target.remove(resourceId, tags);
+            }
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package com.resoursehub.resourseHub.enrichment;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LinkMetadataFetcherTests {
+
+	private static final String PAGE = """
+			<html><head>
+			<title>Plain &amp; simple</title>
+			<meta property="og:description" content="Short  description">
+			<meta content='/img/cover.png' property='og:image'>
+			</head><body>hello</body></html>
+			""";
+
+	private HttpServer server;
+	private String baseUrl;
+	private final BlockingQueue<LinkMetadata> results = new LinkedBlockingQueue<>();
+
+	@BeforeEach
+	void startServer() throws IOException {
+		server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		server.setExecutor(Executors.newCachedThreadPool());
+		server.start();
+		baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+	}
+
+	@AfterEach
+	void stopServer() {
+		server.stop(0);
+	}
+
+	@Test
+	void extractsTitleDescriptionAndImage() throws Exception {
+		server.createContext("/page", exchange -> respond(exchange, 200, PAGE));
+
+		LinkMetadataFetcher fetcher = new LinkMetadataFetcher(properties(4, 2, 3, 1 << 16), results::add);
+		assertThat(fetcher.submit(1L, baseUrl + "/page")).isTrue();
+
+		LinkMetadata metadata = results.poll(5, TimeUnit.SECONDS);
+		assertThat(metadata).isNotNull();
+		assertThat(metadata.resourceId()).isEqualTo(1L);
+		assertThat(metadata.title()).isEqualTo("Plain & simple");
+		assertThat(metadata.description()).isEqualTo("Short description");
+		assertThat(metadata.imageUrl()).isEqualTo(baseUrl + "/img/cover.png");
+	}
+
+	@Test
+	void retriesServerErrorsWithBackoff() throws Exception {
+		AtomicInteger calls = new AtomicInteger();
+		server.createContext("/flaky", exchange ->
+				respond(exchange, calls.incrementAndGet() < 3 ? 503 : 200, PAGE));
+
+		LinkMetadataFetcher fetcher = new LinkMetadataFetcher(properties(4, 2, 3, 1 << 16), results::add);
+		fetcher.submit(2L, baseUrl + "/flaky");
+
+		assertThat(results.poll(5, TimeUnit.SECONDS)).isNotNull();
+		assertThat(calls.get()).isEqualTo(3);
+		assertThat(fetcher.retried()).isEqualTo(2);
+	}
+
+	@Test
+	void givesUpAfterMaxAttempts() throws Exception {
+		AtomicInteger calls = new AtomicInteger();
+		server.createContext("/down", exchange -> {
+			calls.incrementAndGet();
+			respond(exchange, 500, "");
+		});
+
+		LinkMetadataFetcher fetcher = new LinkMetadataFetcher(properties(4, 2, 2, 1 << 16), results::add);
+		fetcher.submit(3L, baseUrl + "/down");
+
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (fetcher.failed() == 0 && System.nanoTime() < deadline) {
+			Thread.sleep(10);
+		}
+		assertThat(fetcher.failed()).isEqualTo(1);
+		assertThat(calls.get()).isEqualTo(2);
+		assertThat(results).isEmpty();
+	}
+
+	@Test
+	void stopsReadingAfterResponseCap() throws Exception {
+		String huge = "<html><head><title>Big</title></head><body>" + "x".repeat(1 << 20) + "</body></html>";
+		server.createContext("/big", exchange -> respond(exchange, 200, huge));
+
+		LinkMetadataFetcher fetcher = new LinkMetadataFetcher(properties(4, 2, 1, 1024), results::add);
+		fetcher.submit(4L, baseUrl + "/big");
+
+		LinkMetadata metadata = results.poll(5, TimeUnit.SECONDS);
+		assertThat(metadata).isNotNull();
+		assertThat(metadata.title()).isEqualTo("Big");
+	}
+
+	@Test
+	void limitsConcurrencyPerHost() throws Exception {
+		AtomicInteger active = new AtomicInteger();
+		AtomicInteger peak = new AtomicInteger();
+		server.createContext("/slow", exchange -> {
+			peak.accumulateAndGet(active.incrementAndGet(), Math::max);
+			try {
+				Thread.sleep(50);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			active.decrementAndGet();
+			respond(exchange, 200, PAGE);
+		});
+
+		LinkMetadataFetcher fetcher = new LinkMetadataFetcher(properties(8, 2, 1, 1 << 16), results::add);
+		for (long id = 0; id < 10; id++) {
+			fetcher.submit(id, baseUrl + "/slow?" + id);
+		}
+		for (int i = 0; i < 10; i++) {
+			assertThat(results.poll(5, TimeUnit.SECONDS)).isNotNull();
+		}
+		assertThat(peak.get()).isLessThanOrEqualTo(2);
+	}
+
+	@Test
+	void blocksLoopbackTargets() throws Exception {
+		AtomicInteger calls = new AtomicInteger();
+		server.createContext("/internal", exchange -> {
+			calls.incrementAndGet();
+			respond(exchange, 200, PAGE);
+		});
+
+		LinkMetadataFetcher fetcher = new LinkMetadataFetcher(properties(4, 2, 3, 1 << 16, 5, List.of()), results::add);
+		fetcher.submit(7L, baseUrl + "/internal");
+
+		awaitBlocked(fetcher);
+		assertThat(fetcher.blocked()).isEqualTo(1);
+		assertThat(calls.get()).isZero();
+		assertThat(results).isEmpty();
+	}
+
+	@Test
+	void followsRedirectsThroughTheSameCheck() throws Exception {
+		server.createContext("/page", exchange -> respond(exchange, 200, PAGE));
+		server.createContext("/moved", exchange -> redirect(exchange, "/page"));
+		// localhost резолвится в loopback и в список разрешённых не входит
+		server.createContext("/escape", exchange ->
+				redirect(exchange, "http://localhost:" + server.getAddress().getPort() + "/page"));
+
+		LinkMetadataFetcher fetcher = new LinkMetadataFetcher(properties(4, 2, 1, 1 << 16), results::add);
+		fetcher.submit(8L, baseUrl + "/moved");
+		LinkMetadata metadata = results.poll(5, TimeUnit.SECONDS);
+		assertThat(metadata).isNotNull();
+		assertThat(metadata.imageUrl()).isEqualTo(baseUrl + "/img/cover.png");
+
+		fetcher.submit(9L, baseUrl + "/escape");
+		awaitBlocked(fetcher);
+		assertThat(fetcher.blocked()).isEqualTo(1);
+		assertThat(results).isEmpty();
+	}
+
+	@Test
+	void stopsAfterRedirectLimit() throws Exception {
+		AtomicInteger calls = new AtomicInteger();
+		server.createContext("/loop", exchange -> {
+			calls.incrementAndGet();
+			redirect(exchange, "/loop");
+		});
+
+		LinkMetadataFetcher fetcher = new LinkMetadataFetcher(
+				properties(4, 2, 1, 1 << 16, 3, List.of("127.0.0.1")), results::add);
+		fetcher.submit(10L, baseUrl + "/loop");
+
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (fetcher.failed() == 0 && System.nanoTime() < deadline) {
+			Thread.sleep(10);
+		}
+		assertThat(fetcher.failed()).isEqualTo(1);
+		assertThat(calls.get()).isEqualTo(4);
+	}
+
+	@Test
+	void resolverRejectsInternalRanges() throws Exception {
+		for (String internal : List.of("127.0.0.1", "10.1.2.3", "172.16.0.1", "192.168.1.1", "169.254.169.254",
+				"0.0.0.0", "100.64.0.1", "::1", "fd00::1", "fe80::1")) {
+			assertThat(PublicAddressResolver.isInternal(InetAddress.getByName(internal))).as(internal).isTrue();
+		}
+		assertThat(PublicAddressResolver.isInternal(InetAddress.getByName("93.184.215.14"))).isFalse();
+		assertThat(PublicAddressResolver.isInternal(InetAddress.getByName("2606:4700::1"))).isFalse();
+
+		PublicAddressResolver resolver = new PublicAddressResolver(Set.of());
+		assertThatThrownBy(() -> resolver.resolve("localhost"))
+				.isInstanceOf(PublicAddressResolver.BlockedAddressException.class);
+		assertThat(new PublicAddressResolver(Set.of("localhost")).resolve("localhost")).isNotEmpty();
+	}
+
+	@Test
+	void rejectsNonHttpUrls() {
+		LinkMetadataFetcher fetcher = new LinkMetadataFetcher(properties(4, 2, 1, 1024), results::add);
+
+		assertThat(fetcher.submit(5L, "ftp://example.com/file")).isFalse();
+		assertThat(fetcher.submit(6L, "not a url")).isFalse();
+		assertThat(fetcher.rejected()).isEqualTo(2);
+	}
+
+	// Тестовый сервер слушает 127.0.0.1, поэтому по умолчанию он в списке разрешённых
+	private static EnrichmentProperties properties(int maxConcurrent, int maxPerHost, int maxAttempts, int maxBytes) {
+		return properties(maxConcurrent, maxPerHost, maxAttempts, maxBytes, 5, List.of("127.0.0.1"));
+	}
+
+	private static EnrichmentProperties properties(int maxConcurrent, int maxPerHost, int maxAttempts, int maxBytes,
+												   int maxRedirects, List<String> allowedPrivateHosts) {
+		return new EnrichmentProperties(true, maxConcurrent, maxPerHost, Duration.ofSeconds(2), Duration.ofSeconds(2),
+				maxAttempts, Duration.ofMillis(20), maxBytes, 100, 50, maxRedirects, allowedPrivateHosts);
+	}
+
+	private static void awaitBlocked(LinkMetadataFetcher fetcher) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (fetcher.blocked() == 0 && System.nanoTime() < deadline) {
+			Thread.sleep(10);
+		}
+	}
+
+	private static void redirect(HttpExchange exchange, String location) throws IOException {
+		exchange.getResponseHeaders().add("Location", location);
+		exchange.sendResponseHeaders(302, -1);
+		exchange.close();
+	}
+
+	private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+		byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().add("Content-Type", "text/html; charset=utf-8");
+		exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+		try (OutputStream out = exchange.getResponseBody()) {
+			out.write(bytes);
+		} catch (IOException ignored) {
+			// клиент мог оборвать чтение после лимита
+		}
+		exchange.close();
+	}
+}
@@ -0,0 +1,106 @@
+package com.resoursehub.resourseHub.index;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Замер памяти и скорости {@link CoLikeIndex} на синтетических лайках.
+ * Не тест — запускается вручную, результаты записаны в docs/PERFORMANCE.md:
+ * <pre>
+ * mvn test-compile
+ * java -Xmx4g -cp target/test-classes:target/classes \
+ *     com.resoursehub.resourseHub.index.CoLikeIndexBenchmark [likes] [users] [items] [maxUserLikes]
+ * </pre>
+ * Популярность ресурсов — Zipf (s = 1), число лайков пользователя — геометрическое.
+ */
+public class CoLikeIndexBenchmark {
+
+    public static void main(String[] args) {
+        long likes = args.length > 0 ? Long.parseLong(args[0]) : 10_000_000L;
+        int users = args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000;
+        int items = args.length > 2 ? Integer.parseInt(args[2]) : 100_000;
+        int maxUserLikes = args.length > 3 ? Integer.parseInt(args[3]) : 500;
+
+        Random random = new Random(7);
+        double[] cdf = zipfCdf(items);
+        double meanPerUser = (double) likes / users;
+
+        long heapBefore = usedHeap();
+        CoLikeIndex index = new CoLikeIndex(maxUserLikes);
+        long started = System.nanoTime();
+        long added = 0;
+        for (long user = 1; added < likes; user = user % users + 1) {
+            // Геометрическое распределение со средним meanPerUser
+            int count = 1 + (int) (Math.log(1 - random.nextDouble()) / Math.log(1 - 1 / meanPerUser));
+            for (int i = 0; i < count && added < likes; i++) {
+                if (index.addLike(user, 1 + sample(cdf, random))) {
+                    added++;
+                }
+            }
+        }
+        long buildMs = (System.nanoTime() - started) / 1_000_000;
+        long heapAfter = usedHeap();
+
+        // Первый запрос к item считает top по всем соседям, повторные берут кеш
+        int queries = 100_000;
+        boolean[] seen = new boolean[items + 1];
+        long[] cold = new long[queries];
+        long[] warm = new long[queries];
+        int coldCount = 0;
+        int warmCount = 0;
+        long checksum = 0;
+        for (int i = 0; i < queries; i++) {
+            int item = 1 + sample(cdf, random);
+            long t = System.nanoTime();
+            checksum += index.topRelated(item, 10).length;
+            long elapsed = System.nanoTime() - t;
+            if (seen[item]) {
+                warm[warmCount++] = elapsed;
+            } else {
+                seen[item] = true;
+                cold[coldCount++] = elapsed;
+            }
+        }
+
+        System.out.printf("likes=%d users=%d items=%d maxUserLikes=%d%n", index.likeCount(), users, items, maxUserLikes);
+        System.out.printf("pairs=%d build=%d ms%n", index.pairCount(), buildMs);
+        System.out.printf("heap=%d MB arrays=%d MB%n",
+                (heapAfter - heapBefore) >> 20, index.footprintBytes() >> 20);
+        printLatencies("top10 cold", Arrays.copyOf(cold, coldCount));
+        printLatencies("top10 warm", Arrays.copyOf(warm, warmCount));
+        System.out.printf("checksum=%d%n", checksum);
+    }
+
+    private static void printLatencies(String name, long[] nanos) {
+        Arrays.sort(nanos);
+        int n = nanos.length;
+        System.out.printf("%s n=%d p50=%.1f us p99=%.1f us p999=%.1f us max=%.1f us%n", name, n,
+                nanos[n / 2] / 1e3, nanos[n * 99 / 100] / 1e3, nanos[n * 999 / 1000] / 1e3, nanos[n - 1] / 1e3);
+    }
+
+    private static double[] zipfCdf(int items) {
+        double[] cdf = new double[items];
+        double sum = 0;
+        for (int i = 0; i < items; i++) {
+            sum += 1.0 / (i + 1);
+            cdf[i] = sum;
+        }
+        for (int i = 0; i < items; i++) {
+            cdf[i] /= sum;
+        }
+        return cdf;
+    }
+
+    private static int sample(double[] cdf, Random random) {
+        int i = Arrays.binarySearch(cdf, random.nextDouble());
+        return i >= 0 ? i : Math.min(-i - 1, cdf.length - 1);
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
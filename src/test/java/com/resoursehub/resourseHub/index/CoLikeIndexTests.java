@@ -0,0 +1,107 @@
+package com.resoursehub.resourseHub.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CoLikeIndexTests {
+
+	@Test
+	void ranksByCommonLikes() {
+		CoLikeIndex index = new CoLikeIndex(100);
+		index.addLike(1, 10);
+		index.addLike(1, 20);
+		index.addLike(1, 30);
+		index.addLike(2, 10);
+		index.addLike(2, 30);
+		index.addLike(3, 10);
+		index.addLike(3, 30);
+		index.addLike(3, 40);
+
+		assertThat(index.topRelated(10, 10)).containsExactly(30, 20, 40);
+		assertThat(index.topRelated(10, 1)).containsExactly(30);
+		assertThat(index.coCount(30, 10)).isEqualTo(3);
+		assertThat(index.topRelated(99, 10)).isEmpty();
+	}
+
+	@Test
+	void cachedTopIsInvalidatedByUpdates() {
+		CoLikeIndex index = new CoLikeIndex(100);
+		index.addLike(1, 10);
+		index.addLike(1, 20);
+		assertThat(index.topRelated(10, 10)).containsExactly(20);
+
+		index.addLike(2, 10);
+		index.addLike(2, 30);
+		index.addLike(3, 10);
+		index.addLike(3, 30);
+		assertThat(index.topRelated(10, 10)).containsExactly(30, 20);
+
+		index.removeLike(1, 20);
+		assertThat(index.topRelated(10, 10)).containsExactly(30);
+	}
+
+	@Test
+	void likeAndUnlikeAreIdempotent() {
+		CoLikeIndex index = new CoLikeIndex(100);
+		assertThat(index.addLike(1, 10)).isTrue();
+		assertThat(index.addLike(1, 20)).isTrue();
+		assertThat(index.addLike(1, 20)).isFalse();
+		assertThat(index.coCount(10, 20)).isEqualTo(1);
+
+		assertThat(index.removeLike(1, 20)).isTrue();
+		assertThat(index.removeLike(1, 20)).isFalse();
+		assertThat(index.coCount(10, 20)).isZero();
+		assertThat(index.pairCount()).isZero();
+	}
+
+	@Test
+	void usersOverTheCapDoNotContribute() {
+		CoLikeIndex index = new CoLikeIndex(3);
+		index.addLike(1, 10);
+		index.addLike(1, 20);
+		index.addLike(1, 30);
+		assertThat(index.coCount(10, 20)).isEqualTo(1);
+
+		index.addLike(1, 40);
+		assertThat(index.pairCount()).isZero();
+
+		index.removeLike(1, 40);
+		assertThat(index.coCount(10, 20)).isEqualTo(1);
+		assertThat(index.pairCount()).isEqualTo(3);
+	}
+
+	@Test
+	void incrementalUpdatesMatchRebuild() {
+		Random random = new Random(42);
+		CoLikeIndex live = new CoLikeIndex(8);
+		List<long[]> likes = new ArrayList<>();
+
+		for (int i = 0; i < 20_000; i++) {
+			long user = 1 + random.nextInt(50);
+			long item = 1 + random.nextInt(40);
+			if (random.nextInt(3) == 0) {
+				live.removeLike(user, item);
+				likes.removeIf(l -> l[0] == user && l[1] == item);
+			} else if (live.addLike(user, item)) {
+				likes.add(new long[]{user, item});
+			}
+		}
+
+		CoLikeIndex rebuilt = new CoLikeIndex(8);
+		likes.forEach(l -> rebuilt.addLike(l[0], l[1]));
+
+		assertThat(live.likeCount()).isEqualTo(likes.size());
+		assertThat(live.pairCount()).isEqualTo(rebuilt.pairCount());
+		for (long a = 1; a <= 40; a++) {
+			assertThat(live.topRelated(a, 40)).containsExactly(rebuilt.topRelated(a, 40));
+			for (long b = 1; b <= 40; b++) {
+				assertThat(live.coCount(a, b)).isEqualTo(rebuilt.coCount(a, b));
+			}
+		}
+	}
+}
@@ -0,0 +1,74 @@
+package com.resoursehub.resourseHub.index;
+
+import org.junit.jupiter.api.Test;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TagIndexTests {
+
+	private TagIndex sample() {
+		TagIndex index = new TagIndex();
+		index.add(1, List.of("Java", "Spring"));
+		index.add(2, List.of("java", "javascript"));
+		index.add(3, List.of("JavaScript", "react", " java "));
+		index.add(4, List.of("spring", "spring boot"));
+		return index;
+	}
+
+	@Test
+	void suggestsByPrefixMostPopularFirst() {
+		TagIndex index = sample();
+
+		assertThat(index.suggest("ja", 10)).containsExactly(
+				new TagCount("java", 3), new TagCount("javascript", 2));
+		assertThat(index.suggest("JAVAS", 10)).containsExactly(new TagCount("javascript", 2));
+		assertThat(index.suggest("spring ", 10)).containsExactly(new TagCount("spring boot", 1));
+		assertThat(index.suggest("", 1)).containsExactly(new TagCount("java", 3));
+		assertThat(index.suggest("python", 10)).isEmpty();
+	}
+
+	@Test
+	void filtersWithAndOr() {
+		TagIndex index = sample();
+
+		assertThat(index.matchAll(List.of("java", "javascript")).toArray()).containsExactly(2, 3);
+		assertThat(index.matchAll(List.of("java", "python")).isEmpty()).isTrue();
+		assertThat(index.matchAny(List.of("react", "spring")).toArray()).containsExactly(1, 3, 4);
+	}
+
+	@Test
+	void countsFacetsWithinFilter() {
+		TagIndex index = sample();
+
+		assertThat(index.facets(null, 2)).containsExactly(
+				new TagCount("java", 3), new TagCount("javascript", 2));
+		assertThat(index.facets(index.matchAll(List.of("javascript")), 10)).containsExactly(
+				new TagCount("java", 2), new TagCount("javascript", 2), new TagCount("react", 1));
+	}
+
+	@Test
+	void removingLastResourceDropsTag() {
+		TagIndex index = sample();
+		index.remove(3, List.of("JavaScript", "react", " java "));
+		index.remove(2, List.of("java", "javascript"));
+
+		assertThat(index.suggest("jav", 10)).containsExactly(new TagCount("java", 1));
+		assertThat(index.suggest("r", 10)).isEmpty();
+		assertThat(index.tagCount()).isEqualTo(3);
+	}
+
+	@Test
+	void pagesNewestFirstBeforeCursor() {
+		RoaringBitmap ids = RoaringBitmap.bitmapOf(3, 7, 8, 70_000, 70_001, 200_000);
+
+		assertThat(TagIndex.newestFirst(ids, null, 4)).containsExactly(200_000L, 70_001L, 70_000L, 8L);
+		assertThat(TagIndex.newestFirst(ids, 8L, 4)).containsExactly(7L, 3L);
+		assertThat(TagIndex.newestFirst(ids, 70_000L, 1)).containsExactly(8L);
+		assertThat(TagIndex.newestFirst(ids, Long.MAX_VALUE, 2)).containsExactly(200_000L, 70_001L);
+		assertThat(TagIndex.newestFirst(ids, 3L, 10)).isEmpty();
+		assertThat(TagIndex.newestFirst(new RoaringBitmap(), null, 10)).isEmpty();
+	}
+}
@@ -0,0 +1,59 @@
+package com.resoursehub.resourseHub.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AfterCommitTests {
+
+	private final AtomicInteger runs = new AtomicInteger();
+
+	@AfterEach
+	void clearSynchronization() {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	@Test
+	void runsImmediatelyWithoutTransaction() {
+		AfterCommit.run(runs::incrementAndGet);
+
+		assertThat(runs.get()).isEqualTo(1);
+	}
+
+	@Test
+	void runsOnlyAfterCommit() {
+		TransactionSynchronizationManager.initSynchronization();
+
+		AfterCommit.run(runs::incrementAndGet);
+		assertThat(runs.get()).isZero();
+
+		finish(TransactionSynchronization.STATUS_COMMITTED);
+		assertThat(runs.get()).isEqualTo(1);
+	}
+
+	@Test
+	void isDroppedOnRollback() {
+		TransactionSynchronizationManager.initSynchronization();
+
+		AfterCommit.run(runs::incrementAndGet);
+		finish(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+		assertThat(runs.get()).isZero();
+	}
+
+	// То же, что делает AbstractPlatformTransactionManager при завершении транзакции
+	private static void finish(int status) {
+		var synchronizations = TransactionSynchronizationManager.getSynchronizations();
+		if (status == TransactionSynchronization.STATUS_COMMITTED) {
+			synchronizations.forEach(TransactionSynchronization::afterCommit);
+		}
+		synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+	}
+}
@@ -0,0 +1,59 @@
+package com.resoursehub.resourseHub.service;
+
+import com.resoursehub.resourseHub.repository.LikeRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LikeStateServiceTests {
+
+	private final LikeRepository likeRepository = mock(LikeRepository.class);
+
+	@Test
+	void loadsLazilyOnceAndFollowsUpdates() {
+		when(likeRepository.findResourceIdsByUserId(1L)).thenReturn(List.of(10L, 30L));
+		LikeStateService service = new LikeStateService(likeRepository, 100);
+
+		service.onLike(1L, 20L);
+		assertThat(service.getLiked(1L, List.of(10L, 20L, 30L, 40L))).containsExactly(10L, 30L);
+
+		service.onLike(1L, 40L);
+		service.onUnlike(1L, 10L);
+		assertThat(service.getLiked(1L, List.of(10L, 20L, 30L, 40L))).containsExactly(30L, 40L);
+		verify(likeRepository, times(1)).findResourceIdsByUserId(1L);
+	}
+
+	@Test
+	void replaysChangesCommittedWhileLoading() {
+		LikeStateService service = new LikeStateService(likeRepository, 100);
+		when(likeRepository.findResourceIdsByUserId(1L)).thenAnswer(invocation -> {
+			// Снимок уже содержит 20, но лайк 30 и снятие 10 пришли во время чтения
+			service.onLike(1L, 30L);
+			service.onUnlike(1L, 10L);
+			service.onLike(1L, 20L);
+			return new ArrayList<>(List.of(10L, 20L));
+		});
+
+		assertThat(service.getLiked(1L, List.of(10L, 20L, 30L))).containsExactly(20L, 30L);
+	}
+
+	@Test
+	void evictsLeastRecentlyUsedUsers() {
+		when(likeRepository.findResourceIdsByUserId(1L)).thenReturn(List.of(10L));
+		when(likeRepository.findResourceIdsByUserId(2L)).thenReturn(List.of(20L));
+		LikeStateService service = new LikeStateService(likeRepository, 1);
+
+		service.getLiked(1L, List.of(10L));
+		service.getLiked(2L, List.of(20L));
+		service.getLiked(1L, List.of(10L));
+
+		verify(likeRepository, times(2)).findResourceIdsByUserId(1L);
+	}
+}